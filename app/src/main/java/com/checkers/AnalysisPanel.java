@@ -0,0 +1,145 @@
+package com.checkers;
+
+import com.checkers.core.Move;
+import com.checkers.core.Position;
+import com.checkers.engine.AnalysisService;
+import com.checkers.engine.SearchEngine;
+import com.checkers.engine.SearchResult;
+import com.checkers.metrics.Counter;
+import com.checkers.metrics.Metrics;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The side panel showing what an {@link AnalysisService} thinks of the current
+ * position. Updates arrive on the search thread and only the newest is kept; at
+ * most one {@code Platform.runLater} is outstanding, so however often the search
+ * reports, the application thread handles one batch at a time and never waits.
+ */
+public class AnalysisPanel implements AutoCloseable {
+    private static final Counter UPDATES = Metrics.counter("ui.analysis.updates");
+    private static final Counter BATCHES = Metrics.counter("ui.analysis.batches");
+    private static final int TABLE_MEGABYTES = 32;
+
+    private final Label scoreLabel;
+    private final Label depthLabel;
+    private final Label lineLabel;
+    private final Label speedLabel;
+    private final AtomicReference<AnalysisService.Update> pending = new AtomicReference<>();
+    private Position position;
+    private AnalysisService service;
+    private int threads = 1;
+    private boolean enabled;
+
+    public AnalysisPanel(Label scoreLabel, Label depthLabel, Label lineLabel, Label speedLabel) {
+        this.scoreLabel = scoreLabel;
+        this.depthLabel = depthLabel;
+        this.lineLabel = lineLabel;
+        this.speedLabel = speedLabel;
+        clear();
+    }
+
+    /**
+     * @param threads The number of search threads; takes effect when analysis is first enabled.
+     */
+    void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Starts or stops analysing the current position.
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        clear();
+        if (enabled) {
+            if (service == null) {
+                service = new AnalysisService(threads, TABLE_MEGABYTES, this::publish);
+            }
+            analyzeCurrent();
+        } else if (service != null) {
+            service.cancel();
+        }
+    }
+
+    /**
+     * Drops the analysis of the previous position at once and, if enabled, starts on
+     * the new one. Called on the application thread with every new snapshot; a
+     * position part-way through a capture is not analysed until the capture ends.
+     */
+    void positionChanged(Position position) {
+        this.position = position;
+        if (enabled) {
+            clear();
+            analyzeCurrent();
+        }
+    }
+
+    private void analyzeCurrent() {
+        if (position == null || position.isInCaptureSequence()) {
+            service.cancel();
+        } else {
+            service.analyze(position.toBoard());
+        }
+    }
+
+    /**
+     * Runs on the search thread.
+     */
+    private void publish(AnalysisService.Update update) {
+        UPDATES.increment();
+        if (pending.getAndSet(update) == null) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        AnalysisService.Update update = pending.getAndSet(null);
+        BATCHES.increment();
+        if (update == null || !enabled || update.generation() != service.generation()) {
+            return;
+        }
+        SearchResult result = update.result();
+        if (!result.hasMove()) {
+            scoreLabel.setText("No legal moves");
+            return;
+        }
+        scoreLabel.setText(formatScore(update.whiteToMove() ? result.score() : -result.score()));
+        depthLabel.setText("Depth " + result.depth());
+        StringJoiner line = new StringJoiner(" ");
+        for (long move : update.line()) {
+            line.add(Move.toString(move));
+        }
+        lineLabel.setText(line.toString());
+        long nanos = Math.max(1, result.elapsedNanos());
+        speedLabel.setText(String.format("%,d kN/s", result.nodes() * 1_000_000L / nanos));
+    }
+
+    /**
+     * @param score The score from white's point of view.
+     */
+    private static String formatScore(int score) {
+        int distance = SearchEngine.WIN - Math.abs(score);
+        if (distance <= SearchEngine.MAX_PLY) {
+            return (score > 0 ? "White" : "Black") + " wins in " + distance + " plies";
+        }
+        return String.format("%+.2f", score / 100.0);
+    }
+
+    private void clear() {
+        scoreLabel.setText(enabled ? "Analysing..." : "");
+        depthLabel.setText("");
+        lineLabel.setText("");
+        speedLabel.setText("");
+    }
+
+    @Override
+    public void close() {
+        if (service != null) {
+            service.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.Squares;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws a position straight onto a {@link javafx.scene.canvas.Canvas} instead of
+ * building scene-graph nodes, and maps canvas coordinates back to squares with plain
+ * arithmetic. One renderer can draw any number of boards onto the same canvas.
+ */
+public class CanvasBoardRenderer {
+
+    private static final Color FIELD_COLOR1 = Color.web("#D2691E");
+    private static final Color FIELD_COLOR2 = Color.web("#8B4513");
+    private static final Color SELECTION_COLOR = Color.web("#FFEB3B", 0.6);
+    private static final Color HIGHLIGHT_COLOR = Color.web("#FFC107", 0.5);
+    private static final double PIECE_RATIO = 0.4;
+    private static final double KING_STROKE_RATIO = 0.06;
+
+    /**
+     * Draws the whole board and its pieces.
+     *
+     * @param gc         Where to draw.
+     * @param board      The position to show.
+     * @param x          The left edge of the board.
+     * @param y          The top edge of the board.
+     * @param squareSize The side of one field in pixels.
+     * @param selected   A square to highlight, or {@link Squares#NONE}.
+     * @param marked     Squares to mark more faintly, such as pieces that must capture.
+     */
+    public void draw(GraphicsContext gc, Board board, double x, double y, double squareSize, int selected,
+                     int marked) {
+        draw(gc, board.whitePieces(), board.blackPieces(), board.kings(), x, y, squareSize, selected, marked);
+    }
+
+    /**
+     * Draws a position given as bitboards, for callers that keep packed snapshots
+     * rather than a {@link Board}.
+     */
+    public void draw(GraphicsContext gc, int white, int black, int kings,
+                     double x, double y, double squareSize, int selected, int marked) {
+        gc.setFill(FIELD_COLOR1);
+        gc.fillRect(x, y, squareSize * Squares.BOARD_SIZE, squareSize * Squares.BOARD_SIZE);
+        gc.setFill(FIELD_COLOR2);
+        for (int square = 0; square < Squares.COUNT; square++) {
+            gc.fillRect(x + Squares.col(square) * squareSize, y + Squares.row(square) * squareSize,
+                    squareSize, squareSize);
+        }
+        gc.setFill(HIGHLIGHT_COLOR);
+        for (; marked != 0; marked &= marked - 1) {
+            int square = Integer.numberOfTrailingZeros(marked);
+            gc.fillRect(x + Squares.col(square) * squareSize, y + Squares.row(square) * squareSize,
+                    squareSize, squareSize);
+        }
+        if (selected != Squares.NONE) {
+            gc.setFill(SELECTION_COLOR);
+            gc.fillRect(x + Squares.col(selected) * squareSize, y + Squares.row(selected) * squareSize,
+                    squareSize, squareSize);
+        }
+
+        double radius = squareSize * PIECE_RATIO;
+        gc.setStroke(Color.GOLD);
+        gc.setLineWidth(Math.max(1.0, squareSize * KING_STROKE_RATIO));
+        for (int pieces = white | black; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            double centerX = x + (Squares.col(square) + 0.5) * squareSize;
+            double centerY = y + (Squares.row(square) + 0.5) * squareSize;
+            gc.setFill((white >>> square & 1) != 0 ? Color.WHITE : Color.BLACK);
+            gc.fillOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+            if ((kings >>> square & 1) != 0) {
+                gc.strokeOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+            }
+        }
+    }
+
+    /**
+     * @param x          The horizontal position relative to the board's left edge.
+     * @param y          The vertical position relative to the board's top edge.
+     * @param squareSize The side of one field in pixels.
+     * @return The playable square under the point, or {@link Squares#NONE} for a light
+     * field or a point outside the board.
+     */
+    public static int squareAt(double x, double y, double squareSize) {
+        if (x < 0 || y < 0) {
+            return Squares.NONE;
+        }
+        return Squares.of((int) (y / squareSize), (int) (x / squareSize));
+    }
+}
@@ -0,0 +1,330 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.GameTracker;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Position;
+import com.checkers.core.Squares;
+import com.checkers.core.Variant;
+import com.checkers.engine.ComputerPlayer;
+import com.checkers.metrics.Counter;
+import com.checkers.metrics.Histogram;
+import com.checkers.metrics.Metrics;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.MouseEvent;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A playable game drawn on a single {@link Canvas}, chosen with {@code --renderer=canvas}.
+ * Clicks are mapped to squares arithmetically and moves are checked against the move
+ * generator. A whole multi-jump is played by clicking the piece and then its final
+ * square; when several captures end there, the squares the piece can land on next are
+ * marked and the capture is chosen by clicking its landing squares in order.
+ */
+public class CanvasGameView {
+
+    private static final double SQUARE_SIZE = 50;
+    private static final Counter NO_SELECTION = Metrics.counter("ui.clicks.noSelection");
+    private static final Counter INVALID_MOVES = Metrics.counter("ui.moves.invalid");
+    private static final Counter AMBIGUOUS_CAPTURES = Metrics.counter("ui.moves.ambiguousCapture");
+    private static final Counter COMPUTER_WITHOUT_MOVE = Metrics.counter("ui.computer.noMove");
+    private static final Histogram VALIDATION_NANOS = Metrics.histogram("ui.move.validationNanos");
+
+    private final Canvas canvas = new Canvas(SQUARE_SIZE * Squares.BOARD_SIZE, SQUARE_SIZE * Squares.BOARD_SIZE);
+    private final CanvasBoardRenderer renderer = new CanvasBoardRenderer();
+    private final GameStatusUpdater gameStatusUpdater;
+    private final Board board = Board.initial();
+    private final MoveList moves = new MoveList();
+    private long[] redoMoves = new long[64];
+    private int redoSize;
+    private int selected = Squares.NONE;
+    private final int[] landings = new int[Squares.COUNT];
+    private int jumps;
+    private int choices;
+    private ComputerPlayer computerPlayer;
+    private boolean isComputerThinking;
+    private GameRecorder recorder;
+    private Consumer<Position> positionListener;
+    private volatile Position position = Position.of(board);
+    private final GameTracker tracker = new GameTracker();
+    private GameTracker.Status status = GameTracker.Status.IN_PROGRESS;
+    private int captureMask;
+
+    public CanvasGameView(GameStatusUpdater gameStatusUpdater) {
+        this.gameStatusUpdater = gameStatusUpdater;
+        canvas.setOnMouseClicked(this::handleClick);
+        updateStatus();
+        redraw();
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Switches the rules; call before the first move.
+     */
+    void setVariant(Variant variant) {
+        board.setVariant(variant);
+        tracker.start(board);
+        publish(Position.of(board));
+        updateStatus();
+        redraw();
+    }
+
+    void setComputerPlayer(ComputerPlayer computerPlayer) {
+        this.computerPlayer = computerPlayer;
+        if (computerPlayer != null && computerPlayer.isToMove(board)) {
+            playComputerMove();
+        }
+    }
+
+    /**
+     * @return The latest snapshot of the game. Safe to call from any thread.
+     */
+    Position position() {
+        return position;
+    }
+
+    /**
+     * @param positionListener Told about every new snapshot: after each move, undo
+     *                         and redo, and about the current one right away.
+     */
+    void setPositionListener(Consumer<Position> positionListener) {
+        this.positionListener = positionListener;
+        positionListener.accept(position);
+    }
+
+    /**
+     * Starts recording the game from the current position.
+     */
+    void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        recorder.restart(board);
+    }
+
+    private void handleClick(MouseEvent event) {
+        if (isComputerThinking || status.isOver()) {
+            return;
+        }
+        int square = CanvasBoardRenderer.squareAt(event.getX(), event.getY(), SQUARE_SIZE);
+        if (square == Squares.NONE) {
+            return;
+        }
+        boolean ownPiece = board.isOccupied(square) && board.isWhite(square) == board.isWhiteToMove();
+        if (ownPiece) {
+            selected = square == selected ? Squares.NONE : square;
+            clearLandings();
+            redraw();
+            return;
+        }
+        if (selected == Squares.NONE) {
+            NO_SELECTION.increment();
+            return;
+        }
+        long start = Metrics.startTimer();
+        long move = captureMask == 0 ? findMove(selected, square) : findCapture(selected, square);
+        VALIDATION_NANOS.recordSince(start);
+        if (move != Move.NONE) {
+            playMove(move);
+        } else {
+            redraw();
+        }
+    }
+
+    /**
+     * @return The quiet move between the two squares, or {@link Move#NONE} if there is
+     * none. Looks only at the moves cached for this turn.
+     */
+    private long findMove(int from, int to) {
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (Move.from(move) == from && Move.to(move) == to) {
+                return move;
+            }
+        }
+        INVALID_MOVES.increment();
+        return Move.NONE;
+    }
+
+    /**
+     * Matches a click against the captures cached for this turn. A click on the next
+     * landing square of a capture extends the path played so far, and a click on the
+     * last square plays the capture. When several captures along the path end on the
+     * clicked square, the squares where they land next are marked to choose from.
+     *
+     * @return The capture to play, or {@link Move#NONE} if it is not complete yet.
+     */
+    private long findCapture(int from, int to) {
+        landings[jumps] = to;
+        boolean partial = false;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (Move.from(move) != from || !MoveGenerator.continuesCapture(board, move, landings, jumps + 1)) {
+                continue;
+            }
+            if (Move.captureCount(move) == jumps + 1) {
+                return move;
+            }
+            partial = true;
+        }
+        if (partial) {
+            jumps++;
+            choices = 0;
+            return Move.NONE;
+        }
+
+        long found = Move.NONE;
+        int matches = 0;
+        int next = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (Move.from(move) == from && Move.to(move) == to
+                    && MoveGenerator.continuesCapture(board, move, landings, jumps)) {
+                found = move;
+                matches++;
+                next |= Squares.bit(landings[jumps]);
+            }
+        }
+        if (matches == 0) {
+            INVALID_MOVES.increment();
+            return Move.NONE;
+        }
+        if (matches > 1) {
+            AMBIGUOUS_CAPTURES.increment();
+            choices = next;
+            return Move.NONE;
+        }
+        return found;
+    }
+
+    private void clearLandings() {
+        jumps = 0;
+        choices = 0;
+    }
+
+    private void playMove(long move) {
+        board.make(move);
+        tracker.played(board, move);
+        if (recorder != null) {
+            recorder.record(move, board);
+        }
+        redoSize = 0;
+        selected = Squares.NONE;
+        clearLandings();
+        updateStatus();
+        redraw();
+        publish(position.next(board, move));
+        if (computerPlayer != null && computerPlayer.isToMove(board)) {
+            playComputerMove();
+        }
+    }
+
+    private void playComputerMove() {
+        if (status.isOver()) {
+            return;
+        }
+        isComputerThinking = true;
+        computerPlayer.chooseMove(board).thenAccept(result -> Platform.runLater(() -> {
+            isComputerThinking = false;
+            if (!result.hasMove()) {
+                // Game over is detected before the computer is asked, so this should not happen.
+                COMPUTER_WITHOUT_MOVE.increment();
+                return;
+            }
+            playMove(result.bestMove());
+        }));
+    }
+
+    /**
+     * Takes back the last move, or the last move pair when playing the computer.
+     *
+     * @return Whether anything was taken back.
+     */
+    boolean undoMove() {
+        if (isComputerThinking || board.historySize() == 0) {
+            return false;
+        }
+        Position restored = position;
+        do {
+            if (redoSize == redoMoves.length) {
+                redoMoves = Arrays.copyOf(redoMoves, redoSize * 2);
+            }
+            redoMoves[redoSize++] = board.lastMove();
+            board.unmake();
+            tracker.undo(board);
+            restored = restored == null ? null : restored.previous();
+        } while (computerPlayer != null && computerPlayer.isToMove(board) && board.historySize() > 0);
+        afterHistoryChange(restored != null ? restored : Position.of(board));
+        return true;
+    }
+
+    /**
+     * @return Whether anything was replayed.
+     */
+    boolean redoMove() {
+        if (isComputerThinking || redoSize == 0) {
+            return false;
+        }
+        Position restored = position;
+        do {
+            long move = redoMoves[--redoSize];
+            board.make(move);
+            tracker.played(board, move);
+            restored = restored.next(board, move);
+        } while (computerPlayer != null && computerPlayer.isToMove(board) && redoSize > 0);
+        afterHistoryChange(restored);
+        return true;
+    }
+
+    private void afterHistoryChange(Position restored) {
+        selected = Squares.NONE;
+        clearLandings();
+        updateStatus();
+        redraw();
+        if (recorder != null) {
+            recorder.restart(board);
+        }
+        publish(restored);
+        if (computerPlayer != null && computerPlayer.isToMove(board)) {
+            playComputerMove();
+        }
+    }
+
+    /**
+     * Generates the legal moves once for the turn that starts now; clicks are checked
+     * against them, and they decide whether the game has ended and which pieces must
+     * capture.
+     */
+    private void updateStatus() {
+        MoveGenerator.generate(board, moves);
+        status = tracker.status(moves.size());
+        captureMask = MoveGenerator.captureMask(moves);
+        gameStatusUpdater.showStatus(status);
+    }
+
+    private void publish(Position next) {
+        position = next;
+        if (positionListener != null) {
+            positionListener.accept(next);
+        }
+    }
+
+    /**
+     * Marks the pieces that must capture, the landing squares clicked so far and any
+     * landing squares offered to choose from.
+     */
+    private void redraw() {
+        int marked = captureMask | choices;
+        for (int i = 0; i < jumps; i++) {
+            marked |= Squares.bit(landings[i]);
+        }
+        renderer.draw(canvas.getGraphicsContext2D(), board, 0, 0, SQUARE_SIZE, selected, marked);
+        gameStatusUpdater.updatePlayerPieceCount(board.whiteCount(), board.blackCount());
+    }
+}
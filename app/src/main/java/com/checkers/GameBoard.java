@@ -0,0 +1,153 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.Squares;
+import javafx.geometry.HPos;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * The GameBoard class is responsible for initializing and displaying the graphical
+ * representation of the checkers game board. Every node is created up front: 64
+ * fields and one piece node per playable square, which is shown or hidden as the
+ * position changes.
+ */
+public class GameBoard {
+
+    private final GridPane boardGridPane;
+    private final int FIELD_SIZE = 50;
+    private final Color FIELD_COLOR1 = Color.web("#D2691E");
+    private final Color FIELD_COLOR2 = Color.web("#8B4513");
+    private final Circle[] pieceNodes = new Circle[Squares.COUNT];
+    private final DropShadow captureGlow = new DropShadow(12, Color.GOLD);
+    private int shownWhite;
+    private int shownBlack;
+    private int shownKings;
+    private int shownHighlight;
+
+    /**
+     * @param boardGridPane The GridPane that this GameBoard will be associated with.
+     */
+    public GameBoard(GridPane boardGridPane) {
+        this.boardGridPane = boardGridPane;
+        createGameBoard();
+        createPieceNodes();
+    }
+
+    private void createGameBoard() {
+        for (int row = 0; row < Squares.BOARD_SIZE; row++) {
+            for (int col = 0; col < Squares.BOARD_SIZE; col++) {
+                Rectangle field = createGameField(row, col);
+                boardGridPane.add(field, col, row);
+            }
+        }
+    }
+
+    /**
+     * @param row The row where the field will be placed.
+     * @param col The column where the field will be placed.
+     * @return A Rectangle representing the field.
+     */
+    private Rectangle createGameField(int row, int col) {
+        Rectangle field = new Rectangle(FIELD_SIZE, FIELD_SIZE);
+        field.setFill(getFieldColor(row, col));
+        return field;
+    }
+
+    /**
+     * @param row The row of the field.
+     * @param col The column of the field.
+     * @return The Color of the field.
+     */
+    private Color getFieldColor(int row, int col) {
+        return (row + col) % 2 == 0 ? FIELD_COLOR1 : FIELD_COLOR2;
+    }
+
+    private void createPieceNodes() {
+        for (int square = 0; square < Squares.COUNT; square++) {
+            Circle node = new Piece(Color.TRANSPARENT).getPiece();
+            hide(node);
+            pieceNodes[square] = node;
+            boardGridPane.add(node, Squares.col(square), Squares.row(square));
+            setPieceAlignment(node);
+        }
+    }
+
+    /**
+     * @param square The square index.
+     * @return The node that shows whatever stands on the square. It is hidden while
+     * the square is empty.
+     */
+    public Circle pieceAt(int square) {
+        return pieceNodes[square];
+    }
+
+    /**
+     * Brings the pieces in line with the model. Only squares whose piece changed since
+     * the last call are touched, and nodes are restyled rather than added, moved or
+     * removed, so no layout pass is triggered.
+     *
+     * @param board The position to show.
+     */
+    public void render(Board board) {
+        int white = board.whitePieces();
+        int black = board.blackPieces();
+        int kings = board.kings();
+        int dirty = (white ^ shownWhite) | (black ^ shownBlack) | (kings ^ shownKings);
+        for (; dirty != 0; dirty &= dirty - 1) {
+            int square = Integer.numberOfTrailingZeros(dirty);
+            Circle node = pieceNodes[square];
+            if (!board.isOccupied(square)) {
+                hide(node);
+                continue;
+            }
+            node.setFill(board.isWhite(square) ? Color.WHITE : Color.BLACK);
+            if (board.isKing(square)) {
+                Piece.crown(node);
+            } else {
+                node.setStroke(null);
+            }
+            node.setOpacity(1.0);
+            node.setMouseTransparent(false);
+        }
+        shownWhite = white;
+        shownBlack = black;
+        shownKings = kings;
+    }
+
+    /**
+     * Marks the pieces on the given squares, such as those that must capture. Only
+     * squares whose mark changed are touched.
+     *
+     * @param squares The squares to mark; every other mark is cleared.
+     */
+    public void highlight(int squares) {
+        for (int changed = squares ^ shownHighlight; changed != 0; changed &= changed - 1) {
+            int square = Integer.numberOfTrailingZeros(changed);
+            pieceNodes[square].setEffect((squares >>> square & 1) != 0 ? captureGlow : null);
+        }
+        shownHighlight = squares;
+    }
+
+    /**
+     * Hides an empty square's node. The fill is left alone so a captured piece still
+     * reports its colour until the square is reused.
+     */
+    private static void hide(Circle node) {
+        node.setOpacity(0.0);
+        node.setMouseTransparent(true);
+        node.setScaleX(1.0);
+        node.setScaleY(1.0);
+    }
+
+    /**
+     * @param piece The piece to be aligned.
+     */
+    public void setPieceAlignment(Circle piece) {
+        GridPane.setHalignment(piece, HPos.CENTER);
+    }
+}
+
@@ -0,0 +1,224 @@
+package com.checkers;
+
+import com.checkers.book.OpeningBook;
+import com.checkers.core.Board;
+import com.checkers.core.Position;
+import com.checkers.core.Variant;
+import com.checkers.engine.ComputerPlayer;
+import com.checkers.engine.EvalWeights;
+import com.checkers.metrics.Counter;
+import com.checkers.metrics.Metrics;
+import javafx.fxml.FXML;
+import javafx.scene.Node;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * GameController is responsible for handling user interactions within the
+ * Checkers game board. It controls game flow, including piece selection,
+ * movement, and capturing mechanics.
+ */
+public class GameController {
+    private static final Counter NO_SELECTION = Metrics.counter("ui.clicks.noSelection");
+
+    @FXML
+    private GridPane boardGridPane;
+    @FXML
+    public Label whitePlayerLabel;
+    @FXML
+    public Label blackPlayerLabel;
+    @FXML
+    public Label whiteCountLabel;
+    @FXML
+    public Label blackCountLabel;
+    @FXML
+    private Label resultLabel;
+    @FXML
+    private CheckBox analysisToggle;
+    @FXML
+    private Label analysisScoreLabel;
+    @FXML
+    private Label analysisDepthLabel;
+    @FXML
+    private Label analysisLineLabel;
+    @FXML
+    private Label analysisSpeedLabel;
+
+    private Circle selectedPiece = null;
+
+    private PieceMovementHandler pieceMovementHandler;
+    private GameBoard gameBoard;
+    private GameStatusUpdater statusUpdater;
+    private CanvasGameView canvasGameView;
+    private GameRecorder recorder;
+    private AnalysisPanel analysisPanel;
+
+    public void initialize() {
+        gameBoard = new GameBoard(boardGridPane);
+        statusUpdater = new GameStatusUpdater(whiteCountLabel, blackCountLabel, resultLabel);
+        setFieldClickListener();
+        statusUpdater.updatePlayerPieceCount(12, 12);
+
+        pieceMovementHandler = new PieceMovementHandler(gameBoard, statusUpdater);
+        pieceMovementHandler.whiteCountLabel = whiteCountLabel;
+        pieceMovementHandler.blackCountLabel = blackCountLabel;
+
+        analysisPanel = new AnalysisPanel(analysisScoreLabel, analysisDepthLabel, analysisLineLabel, analysisSpeedLabel);
+        pieceMovementHandler.setPositionListener(analysisPanel::positionChanged);
+    }
+
+    /**
+     * Applies command-line options, e.g. {@code --ai=black --ai-time=1000 --ai-threads=4}
+     * to let the computer play black with one second per move on four threads, and
+     * {@code --renderer=canvas} to draw the board on a canvas instead of the grid and
+     * {@code --record=games.log} to append the game to a move log. With {@code --ai},
+     * {@code --book=openings.book} lets the computer play from an opening book and
+     * {@code --ai-weights=tuned.txt} evaluate with tuned weights.
+     * {@code --variant=english} plays another 8x8 rule set, see {@link Variant}.
+     * {@code --analysis=true} turns the analysis panel on from the start and
+     * {@code --analysis-threads=2} sets its number of search threads.
+     *
+     * @param options The named application parameters.
+     * @throws IOException If the move log, the opening book or the weights cannot be read.
+     * @throws IllegalArgumentException If the variant is unknown or not played on 8x8.
+     */
+    public void configure(Map<String, String> options) throws IOException {
+        if ("canvas".equalsIgnoreCase(options.get("renderer"))) {
+            canvasGameView = new CanvasGameView(statusUpdater);
+            ((BorderPane) boardGridPane.getParent()).setCenter(canvasGameView.getCanvas());
+            canvasGameView.setPositionListener(analysisPanel::positionChanged);
+        }
+        String variantName = options.get("variant");
+        if (variantName != null) {
+            Variant variant = Variant.parse(variantName);
+            if (canvasGameView != null) {
+                canvasGameView.setVariant(variant);
+            } else {
+                pieceMovementHandler.setVariant(variant);
+            }
+        }
+        String recordFile = options.get("record");
+        if (recordFile != null) {
+            recorder = new GameRecorder(Path.of(recordFile));
+            if (canvasGameView != null) {
+                canvasGameView.setRecorder(recorder);
+            } else {
+                pieceMovementHandler.setRecorder(recorder);
+            }
+        }
+        String aiColor = options.get("ai");
+        if (aiColor != null) {
+            long moveTimeMillis = Long.parseLong(options.getOrDefault("ai-time", "1000"));
+            int threads = Integer.parseInt(options.getOrDefault("ai-threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            ComputerPlayer computerPlayer =
+                    new ComputerPlayer(aiColor.equalsIgnoreCase("white"), moveTimeMillis, threads);
+            String bookFile = options.get("book");
+            if (bookFile != null) {
+                computerPlayer.setOpeningBook(new OpeningBook(Path.of(bookFile)));
+            }
+            String weightsFile = options.get("ai-weights");
+            if (weightsFile != null) {
+                computerPlayer.setWeights(EvalWeights.load(Path.of(weightsFile)));
+            }
+            if (canvasGameView != null) {
+                canvasGameView.setComputerPlayer(computerPlayer);
+            } else {
+                pieceMovementHandler.setComputerPlayer(computerPlayer);
+            }
+        }
+        analysisPanel.setThreads(Integer.parseInt(options.getOrDefault("analysis-threads", "1")));
+        if (Boolean.parseBoolean(options.get("analysis"))) {
+            analysisToggle.setSelected(true);
+            analysisPanel.setEnabled(true);
+        }
+    }
+
+    private void setFieldClickListener() {
+        for (Node node : boardGridPane.getChildren()) {
+            if (node instanceof Rectangle field) {
+                field.setOnMouseClicked(event -> handleFieldClick(field));
+            } else if (node instanceof Circle piece) {
+                piece.setOnMouseClicked(event -> handlePieceClick(piece));
+            }
+        }
+    }
+
+    private void handlePieceClick(Circle piece) {
+        if (selectedPiece != null) {
+            pieceMovementHandler.deselectPiece();
+            selectedPiece = null; // Update the selectedPiece state accordingly
+        }
+        if (selectedPiece != piece) {
+            pieceMovementHandler.selectPiece(piece);
+            selectedPiece = piece; // Keep track of the selected piece
+        }
+    }
+
+
+    private void handleFieldClick(Rectangle field) {
+        int rowFieldClicked = GridPane.getRowIndex(field);
+        int colFieldClicked = GridPane.getColumnIndex(field);
+
+        if (selectedPiece != null) {
+            pieceMovementHandler.executeMoveForSelectedPiece(rowFieldClicked, colFieldClicked);
+        } else {
+            NO_SELECTION.increment();
+        }
+    }
+
+    /**
+     * Releases what {@link #configure(Map)} opened; called when the window closes.
+     */
+    public void shutdown() {
+        if (recorder != null) {
+            recorder.close();
+        }
+        analysisPanel.close();
+    }
+
+    /**
+     * @return The latest snapshot of the game being played. Safe to call from any
+     * thread, for spectators and saving without touching the live board.
+     */
+    public Position currentPosition() {
+        return canvasGameView != null ? canvasGameView.position() : pieceMovementHandler.position();
+    }
+
+    @FXML
+    private void handleAnalysisToggle() {
+        analysisPanel.setEnabled(analysisToggle.isSelected());
+    }
+
+    @FXML
+    private void handleUndo() {
+        if (canvasGameView != null) {
+            canvasGameView.undoMove();
+        } else if (pieceMovementHandler.undoMove()) {
+            refreshAfterHistoryChange();
+        }
+    }
+
+    @FXML
+    private void handleRedo() {
+        if (canvasGameView != null) {
+            canvasGameView.redoMove();
+        } else if (pieceMovementHandler.redoMove()) {
+            refreshAfterHistoryChange();
+        }
+    }
+
+    private void refreshAfterHistoryChange() {
+        selectedPiece = null;
+        Board board = pieceMovementHandler.getBoard();
+        statusUpdater.updatePlayerPieceCount(board.whiteCount(), board.blackCount());
+    }
+}
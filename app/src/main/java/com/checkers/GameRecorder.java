@@ -0,0 +1,65 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.gamelog.MoveLogWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Streams the game being played to a move log, enabled with {@code --record=<file>}.
+ * The log is append-only, so taking moves back ends the current record and starts a
+ * new one from the position returned to. A move the log cannot encode (one the move
+ * generator does not list) likewise starts a new record after it. Recording problems
+ * are reported on standard error and never interrupt the game.
+ */
+public class GameRecorder implements AutoCloseable {
+
+    private final MoveLogWriter writer;
+
+    public GameRecorder(Path file) throws IOException {
+        this.writer = new MoveLogWriter(file);
+    }
+
+    /**
+     * Ends the current record, if any, and starts a new one.
+     *
+     * @param position The position the new record starts from.
+     */
+    public void restart(Board position) {
+        try {
+            if (writer.isGameOpen()) {
+                writer.endGame(MoveLogWriter.UNFINISHED);
+            }
+            writer.startGame(position);
+        } catch (IOException e) {
+            System.err.println("Could not write move log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param move  The move just played.
+     * @param after The position after the move.
+     */
+    public void record(long move, Board after) {
+        try {
+            writer.append(move);
+        } catch (IllegalArgumentException e) {
+            restart(after);
+        } catch (IOException e) {
+            System.err.println("Could not write move log: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (writer.isGameOpen()) {
+                writer.endGame(MoveLogWriter.UNFINISHED);
+            }
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Could not close move log: " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.checkers;
 
+import com.checkers.core.GameTracker;
 import javafx.scene.control.Label;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -15,15 +16,19 @@ public class GameStatusUpdater {
     private int blackPieceCount;
     private final Label whiteCountLabel;
     private final Label blackCountLabel;
+    private final Label resultLabel;
 
-    public GameStatusUpdater(Label whiteCountLabel, Label blackCountLabel) {
+    public GameStatusUpdater(Label whiteCountLabel, Label blackCountLabel, Label resultLabel) {
         this.whiteCountLabel = whiteCountLabel;
         this.blackCountLabel = blackCountLabel;
+        this.resultLabel = resultLabel;
         this.whitePieceCount = 12;
         this.blackPieceCount = 12;
     }
 
     public void updatePlayerPieceCount(int whiteCount, int blackCount) {
+        whitePieceCount = whiteCount;
+        blackPieceCount = blackCount;
         whiteCountLabel.setText("White Pieces: " + whiteCount);
         blackCountLabel.setText("Black Pieces: " + blackCount);
     }
@@ -36,6 +41,19 @@ public class GameStatusUpdater {
         }
         updatePieceCountLabels();
     }
+    /**
+     * Shows the result once the game is over and clears it while it goes on.
+     */
+    public void showStatus(GameTracker.Status status) {
+        resultLabel.setText(switch (status) {
+            case IN_PROGRESS -> "";
+            case WHITE_WINS -> "White wins";
+            case BLACK_WINS -> "Black wins";
+            case DRAW_BY_REPETITION -> "Draw by repetition";
+            case DRAW_BY_NO_PROGRESS -> "Draw: 40 moves without progress";
+        });
+    }
+
     private void updatePieceCountLabels() {
         whiteCountLabel.setText("White Pieces: " + whitePieceCount);
         blackCountLabel.setText("Black Pieces: " + blackPieceCount);
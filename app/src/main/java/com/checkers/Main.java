@@ -0,0 +1,80 @@
+package com.checkers;
+
+import com.checkers.metrics.Metrics;
+import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.Map;
+
+
+/**
+ * The Main class serves as the entry point for the checkers game application.
+ * It initializes and displays the primary stage and scene.
+ */
+public class Main extends Application {
+
+    /**
+     * @param stage The primary stage for this application, onto which
+     *              the application scene can be set.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    @Override
+    public void start(Stage stage) throws IOException {
+        Map<String, String> options = getParameters().getNamed();
+        if (options.containsKey("metrics")) {
+            Metrics.setEnabled(Boolean.parseBoolean(options.get("metrics")));
+        }
+        Metrics.registerMBean();
+        if (options.containsKey("monitor")) {
+            showMonitorWall(stage, options);
+            return;
+        }
+        FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("Main-view.fxml"));
+        Parent content = fxmlLoader.load();
+        ProfilingOverlay overlay = Boolean.parseBoolean(options.get("profile")) ? new ProfilingOverlay() : null;
+        Scene scene = new Scene(overlay != null ? overlay.wrap(content) : content, 760, 520);
+        if (overlay != null) {
+            overlay.install(scene);
+        }
+        GameController controller = fxmlLoader.getController();
+        controller.configure(options);
+        stage.setOnHidden(event -> {
+            controller.shutdown();
+            if (overlay != null) {
+                System.out.println(overlay);
+            }
+        });
+        stage.setTitle("Checkers");
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    /**
+     * Shows a wall of computer-versus-computer games instead of a playable board.
+     *
+     * @param stage   The primary stage.
+     * @param options The named application parameters.
+     */
+    private void showMonitorWall(Stage stage, Map<String, String> options) {
+        int games = Integer.parseInt(options.get("monitor"));
+        long moveTimeMillis = Long.parseLong(options.getOrDefault("monitor-time", "50"));
+        int threads = Integer.parseInt(options.getOrDefault("monitor-threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        MonitorWall wall = new MonitorWall(games, moveTimeMillis, threads);
+        stage.setTitle("Checkers - " + games + " games");
+        stage.setScene(new Scene(wall.getView(), 1280, 800));
+        stage.setOnHidden(event -> wall.close());
+        stage.show();
+    }
+
+    /**
+     * @param args Command-line arguments passed to the application.
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Squares;
+import com.checkers.engine.SearchEngine;
+import com.checkers.engine.SearchResult;
+import com.checkers.engine.TranspositionTable;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shows many computer-versus-computer games at once on a single canvas, for watching
+ * a tournament. Started with {@code --monitor=64 [--monitor-time=50] [--monitor-threads=N]}.
+ *
+ * <p>The games are played by a pool of search threads. After each move a thread
+ * publishes an immutable {@link Frame}; once per animation frame the JavaFX thread
+ * redraws only the tiles whose frame changed. Clicking a tile prints its position
+ * as FEN.
+ */
+public class MonitorWall implements AutoCloseable {
+
+    private static final int MAX_PLIES = 200;
+    private static final int OPENING_PLIES = 2;
+    private static final int TABLE_MEGABYTES = 4;
+    private static final double TILE_GAP = 4;
+
+    /**
+     * A published position. A new instance is created for every move, so the view can
+     * spot a change with a reference comparison.
+     */
+    record Frame(int white, int black, int kings, boolean whiteToMove, int game, int plies) {
+
+        static Frame of(Board board, int game, int plies) {
+            return new Frame(board.whitePieces(), board.blackPieces(), board.kings(), board.isWhiteToMove(),
+                    game, plies);
+        }
+    }
+
+    private final int gameCount;
+    private final long moveTimeMillis;
+    private final Board[] boards;
+    private final int[] plies;
+    private final int[] gameNumbers;
+    private final AtomicReferenceArray<Frame> frames;
+    private final Frame[] drawn;
+    private final BlockingQueue<Integer> readyGames = new LinkedBlockingQueue<>();
+    private final ExecutorService workers;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final LongAdder movesPlayed = new LongAdder();
+
+    private final Canvas canvas = new Canvas();
+    private final CanvasBoardRenderer renderer = new CanvasBoardRenderer();
+    private final Label statusLabel = new Label();
+    private final BorderPane view = new BorderPane();
+    private final AnimationTimer timer;
+    private int columns;
+    private double tileSize;
+    private boolean layoutChanged = true;
+
+    /**
+     * @param gameCount      The number of games shown.
+     * @param moveTimeMillis The thinking time per move.
+     * @param threads        The number of search threads shared by all games.
+     */
+    public MonitorWall(int gameCount, long moveTimeMillis, int threads) {
+        this.gameCount = gameCount;
+        this.moveTimeMillis = moveTimeMillis;
+        this.boards = new Board[gameCount];
+        this.plies = new int[gameCount];
+        this.gameNumbers = new int[gameCount];
+        this.frames = new AtomicReferenceArray<>(gameCount);
+        this.drawn = new Frame[gameCount];
+
+        SplittableRandom random = new SplittableRandom();
+        for (int i = 0; i < gameCount; i++) {
+            boards[i] = new Board();
+            startGame(i, random);
+            readyGames.add(i);
+        }
+
+        Pane canvasPane = new Pane(canvas);
+        canvas.widthProperty().bind(canvasPane.widthProperty());
+        canvas.heightProperty().bind(canvasPane.heightProperty());
+        canvas.widthProperty().addListener((observable, oldValue, newValue) -> layoutChanged = true);
+        canvas.heightProperty().addListener((observable, oldValue, newValue) -> layoutChanged = true);
+        canvas.setOnMouseClicked(this::handleClick);
+        view.setCenter(canvasPane);
+        view.setBottom(statusLabel);
+        view.setStyle("-fx-background-color: #8D6E63;");
+
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "monitor-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::playGames);
+        }
+        timer = createTimer();
+        timer.start();
+    }
+
+    public Parent getView() {
+        return view;
+    }
+
+    /**
+     * Runs on a search thread: repeatedly takes a game that is waiting for a move,
+     * plays one move in it and hands it back to the queue.
+     */
+    private void playGames() {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(TABLE_MEGABYTES));
+        MoveList moves = new MoveList();
+        SplittableRandom random = new SplittableRandom();
+        try {
+            while (running.get()) {
+                int game = readyGames.take();
+                Board board = boards[game];
+                MoveGenerator.generate(board, moves);
+                if (moves.isEmpty() || plies[game] >= MAX_PLIES) {
+                    startGame(game, random);
+                } else {
+                    SearchResult result = engine.search(board, moveTimeMillis);
+                    board.makeMove(result.hasMove() ? result.bestMove() : moves.get(0));
+                    plies[game]++;
+                    movesPlayed.increment();
+                    publish(game);
+                }
+                readyGames.put(game);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Resets a game to the initial position followed by a few random moves, so the
+     * games on the wall do not all look the same.
+     */
+    private void startGame(int game, SplittableRandom random) {
+        Board board = boards[game];
+        board.copyFrom(Board.initial());
+        MoveList moves = new MoveList();
+        for (int i = 0; i < OPENING_PLIES; i++) {
+            MoveGenerator.generate(board, moves);
+            board.makeMove(moves.get(random.nextInt(moves.size())));
+        }
+        plies[game] = OPENING_PLIES;
+        gameNumbers[game]++;
+        publish(game);
+    }
+
+    private void publish(int game) {
+        frames.set(game, Frame.of(boards[game], gameNumbers[game], plies[game]));
+    }
+
+    private AnimationTimer createTimer() {
+        return new AnimationTimer() {
+            private long lastStatusNanos;
+            private long lastMoves;
+            private int framesSinceStatus;
+
+            @Override
+            public void handle(long now) {
+                redraw();
+                framesSinceStatus++;
+                if (now - lastStatusNanos >= 1_000_000_000L) {
+                    double seconds = (now - lastStatusNanos) / 1e9;
+                    long moves = movesPlayed.sum();
+                    statusLabel.setText(String.format("%d games  %.0f fps  %.0f moves/s", gameCount,
+                            framesSinceStatus / seconds, (moves - lastMoves) / seconds));
+                    lastStatusNanos = now;
+                    lastMoves = moves;
+                    framesSinceStatus = 0;
+                }
+            }
+        };
+    }
+
+    private void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        if (layoutChanged) {
+            layoutTiles();
+            gc.setFill(Color.web("#8D6E63"));
+            gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            Arrays.fill(drawn, null);
+            layoutChanged = false;
+        }
+        double squareSize = (tileSize - TILE_GAP) / Squares.BOARD_SIZE;
+        if (squareSize <= 0) {
+            return;
+        }
+        for (int game = 0; game < gameCount; game++) {
+            Frame frame = frames.get(game);
+            if (frame == drawn[game]) {
+                continue;
+            }
+            double x = (game % columns) * tileSize;
+            double y = (game / columns) * tileSize;
+            renderer.draw(gc, frame.white(), frame.black(), frame.kings(), x, y, squareSize, Squares.NONE, 0);
+            drawn[game] = frame;
+        }
+    }
+
+    /**
+     * Chooses the number of columns that makes the tiles as large as possible.
+     */
+    private void layoutTiles() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        columns = 1;
+        tileSize = 0;
+        for (int candidate = 1; candidate <= gameCount; candidate++) {
+            int rows = (gameCount + candidate - 1) / candidate;
+            double size = Math.min(width / candidate, height / rows);
+            if (size > tileSize) {
+                tileSize = size;
+                columns = candidate;
+            }
+        }
+    }
+
+    private void handleClick(MouseEvent event) {
+        if (tileSize <= 0) {
+            return;
+        }
+        int column = (int) (event.getX() / tileSize);
+        int row = (int) (event.getY() / tileSize);
+        int game = row * columns + column;
+        if (column >= columns || game >= gameCount) {
+            return;
+        }
+        Frame frame = frames.get(game);
+        Board board = new Board();
+        for (int square = 0; square < Squares.COUNT; square++) {
+            if ((frame.white() >>> square & 1) != 0) {
+                board.place(square, true, (frame.kings() >>> square & 1) != 0);
+            } else if ((frame.black() >>> square & 1) != 0) {
+                board.place(square, false, (frame.kings() >>> square & 1) != 0);
+            }
+        }
+        board.setWhiteToMove(frame.whiteToMove());
+        System.out.println("Board " + (game + 1) + ", game " + frame.game() + ", ply " + frame.plies()
+                + ": " + Fen.format(board));
+    }
+
+    @Override
+    public void close() {
+        running.set(false);
+        timer.stop();
+        workers.shutdownNow();
+    }
+}
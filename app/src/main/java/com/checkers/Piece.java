@@ -26,5 +26,15 @@
         public Circle getPiece() {
             return piece;
         }
+
+        /**
+         * Gives the piece the gold outline that marks a king.
+         *
+         * @param piece The piece to crown.
+         */
+        public static void crown(Circle piece) {
+            piece.setStroke(Color.GOLD);
+            piece.setStrokeWidth(3.0);
+        }
     }
 
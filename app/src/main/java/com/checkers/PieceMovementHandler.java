@@ -0,0 +1,564 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.GameTracker;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Position;
+import com.checkers.core.Squares;
+import com.checkers.core.Variant;
+import com.checkers.engine.ComputerPlayer;
+import com.checkers.metrics.Counter;
+import com.checkers.metrics.Histogram;
+import com.checkers.metrics.Metrics;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.shape.Circle;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+
+
+public class PieceMovementHandler implements BoardStateProvider {
+    private static final Counter NO_SELECTION = Metrics.counter("ui.clicks.noSelection");
+    private static final Counter SINGLE_MOVES = Metrics.counter("ui.moves.single");
+    private static final Counter CAPTURE_MOVES = Metrics.counter("ui.moves.capture");
+    private static final Counter INVALID_MOVES = Metrics.counter("ui.moves.invalid");
+    private static final Counter OCCUPIED_FIELDS = Metrics.counter("ui.moves.fieldOccupied");
+    private static final Counter UNFINISHED_CAPTURES = Metrics.counter("ui.moves.mustContinueCapture");
+    private static final Counter CAPTURE_REQUIRED = Metrics.counter("ui.moves.captureRequired");
+    private static final Counter WRONG_TURN = Metrics.counter("ui.moves.wrongTurn");
+    private static final Counter KING_CAPTURES = Metrics.counter("ui.captures.king");
+    private static final Counter COMPUTER_WITHOUT_MOVE = Metrics.counter("ui.computer.noMove");
+    private static final Counter FIND_PIECE_CALLS = Metrics.counter("ui.findPiece.calls");
+    private static final Histogram VALIDATION_NANOS = Metrics.histogram("ui.move.validationNanos");
+    private static final Histogram CAPTURE_CHAIN = Metrics.histogram("ui.capture.chainLength");
+    private static final double SELECTED_SCALE = 1.2;
+
+    private final GameBoard gameBoard;
+    private final GameStatusUpdater gameStatusUpdater;
+    private Circle selectedPiece;
+    private boolean isWhitePlayerMove = true;
+    private boolean isInCaptureSequence = false;
+    public Label whiteCountLabel;
+    public Label blackCountLabel;
+    private final ValidationHandler validationHandler;
+    private final Board board = new Board();
+    private final Board history = new Board();
+    private long[] redoMoves = new long[64];
+    private int redoSize;
+    private int turnFrom = Squares.NONE;
+    private int turnTo;
+    private int turnCaptured;
+    private boolean turnPromoted;
+    private ComputerPlayer computerPlayer;
+    private boolean isComputerThinking;
+    private GameRecorder recorder;
+    private Consumer<Position> positionListener;
+    private volatile Position position;
+    private final GameTracker tracker = new GameTracker();
+    private final MoveList legalMoves = new MoveList();
+    private GameTracker.Status status = GameTracker.Status.IN_PROGRESS;
+    private int captureMask;
+    private final int[] landings = new int[Squares.COUNT];
+    private int jumps;
+
+    /**
+     * Starts a new game from the initial position. The model is the source of truth;
+     * the board view is redrawn from it after every change.
+     */
+    public PieceMovementHandler(GameBoard gameBoard, GameStatusUpdater gameStatusUpdater) {
+        this.gameBoard = gameBoard;
+        this.validationHandler = new ValidationHandler(this);
+        this.gameStatusUpdater = gameStatusUpdater;
+        board.copyFrom(Board.initial());
+        board.setWhiteToMove(isWhitePlayerMove);
+        history.copyFrom(board);
+        tracker.start(history);
+        position = Position.of(board);
+        gameBoard.render(board);
+        updateStatus();
+    }
+
+    /**
+     * Takes back the last completed move, or the last move pair when playing the
+     * computer, so the human is to move again. Not allowed mid-capture or while the
+     * computer is thinking.
+     *
+     * @return Whether anything was taken back.
+     */
+    boolean undoMove() {
+        if (isInCaptureSequence || isComputerThinking || history.historySize() == 0) {
+            return false;
+        }
+        Position restored = position;
+        do {
+            if (redoSize == redoMoves.length) {
+                redoMoves = Arrays.copyOf(redoMoves, redoSize * 2);
+            }
+            redoMoves[redoSize++] = history.lastMove();
+            history.unmake();
+            tracker.undo(history);
+            restored = restored == null ? null : restored.previous();
+        } while (computerPlayer != null && computerPlayer.isToMove(history) && history.historySize() > 0);
+        restoreFromHistory(restored != null ? restored : Position.of(history));
+        return true;
+    }
+
+    /**
+     * Replays moves taken back by {@link #undoMove()}.
+     *
+     * @return Whether anything was replayed.
+     */
+    boolean redoMove() {
+        if (isInCaptureSequence || isComputerThinking || redoSize == 0) {
+            return false;
+        }
+        Position restored = position;
+        do {
+            long move = redoMoves[--redoSize];
+            history.make(move);
+            tracker.played(history, move);
+            restored = restored.next(history, move);
+        } while (computerPlayer != null && computerPlayer.isToMove(history) && redoSize > 0);
+        restoreFromHistory(restored);
+        return true;
+    }
+
+    private void restoreFromHistory(Position restored) {
+        board.copyFrom(history);
+        isWhitePlayerMove = board.isWhiteToMove();
+        resetSelectedPieceSize();
+        selectedPiece = null;
+        clearTurn();
+        gameBoard.render(board);
+        if (recorder != null) {
+            recorder.restart(history);
+        }
+        publish(restored);
+        updateStatus();
+        if (computerPlayer != null && computerPlayer.isToMove(board)) {
+            playComputerMove();
+        }
+    }
+
+    /**
+     * Records the turn just finished as one move in the undo history. The turn is
+     * rebuilt from the piece's first origin, its last destination and everything
+     * captured or crowned along the way.
+     *
+     * @return The move, or {@link Move#NONE} if no piece moved this turn.
+     */
+    private long recordTurn() {
+        if (turnFrom == Squares.NONE) {
+            return Move.NONE;
+        }
+        if (turnCaptured != 0) {
+            CAPTURE_CHAIN.record(Integer.bitCount(turnCaptured));
+        }
+        long move = Move.of(turnFrom, turnTo, turnCaptured, turnPromoted);
+        history.make(move);
+        if (recorder != null) {
+            recorder.record(move, history);
+        }
+        redoSize = 0;
+        clearTurn();
+        return move;
+    }
+
+    private void clearTurn() {
+        turnFrom = Squares.NONE;
+        jumps = 0;
+        turnCaptured = 0;
+        turnPromoted = false;
+    }
+
+    /**
+     * Switches the rules; call before the first move.
+     */
+    void setVariant(Variant variant) {
+        board.setVariant(variant);
+        history.setVariant(variant);
+        tracker.start(history);
+        publish(Position.of(board));
+        updateStatus();
+    }
+
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Hands one colour to the computer. If that colour is already to move, the
+     * computer replies immediately.
+     */
+    void setComputerPlayer(ComputerPlayer computerPlayer) {
+        this.computerPlayer = computerPlayer;
+        if (computerPlayer != null && computerPlayer.isToMove(board)) {
+            playComputerMove();
+        }
+    }
+
+    /**
+     * @return The latest snapshot of the game. Safe to call from any thread.
+     */
+    Position position() {
+        return position;
+    }
+
+    /**
+     * @param positionListener Told about every new snapshot: after each jump of a
+     *                         capture sequence, each completed move, undo and redo,
+     *                         and about the current one right away.
+     */
+    void setPositionListener(Consumer<Position> positionListener) {
+        this.positionListener = positionListener;
+        publish(position);
+    }
+
+    private void publish(Position next) {
+        position = next;
+        if (positionListener != null) {
+            positionListener.accept(next);
+        }
+    }
+
+    /**
+     * Starts recording the game from the current position.
+     */
+    void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        recorder.restart(history);
+    }
+
+    void executeMoveForSelectedPiece(int rowFieldClicked, int colFieldClicked) {
+        // While the computer thinks, its reply is computed for the board as it stands.
+        if (isComputerThinking || status.isOver()) {
+            return;
+        }
+        if (selectedPiece == null) {
+            NO_SELECTION.increment();
+            return;
+        }
+        if (!isInCaptureSequence && captureMask != 0 && (captureMask & Squares.bit(squareOf(selectedPiece))) == 0) {
+            CAPTURE_REQUIRED.increment();
+            return;
+        }
+
+        long start = Metrics.startTimer();
+        decideMoveType(selectedPiece, rowFieldClicked, colFieldClicked);
+        VALIDATION_NANOS.recordSince(start);
+    }
+
+    /**
+     * Plays one click as a quiet move or as the next jump of a capture. Either way the
+     * click must match a move cached for this turn, so the grid can never play a move
+     * the move generator would not.
+     */
+    private void decideMoveType(Circle piece, int rowFieldClicked, int colFieldClicked) {
+        if (!validationHandler.isPlayerTurnValid(piece, isWhitePlayerMove)) {
+            WRONG_TURN.increment();
+            return;
+        }
+        if (isInCaptureSequence && squareOf(piece) != turnTo) {
+            UNFINISHED_CAPTURES.increment();
+            return;
+        }
+        int to = Squares.of(rowFieldClicked, colFieldClicked);
+        if (to == Squares.NONE) {
+            INVALID_MOVES.increment();
+            return;
+        }
+        if (isFieldOccupied(rowFieldClicked, colFieldClicked)) {
+            return;
+        }
+        if (captureMask == 0) {
+            makeSingleMove(to);
+        } else {
+            makeCaptureMove(to);
+        }
+    }
+
+    private boolean isFieldOccupied(int rowFieldClicked, int colFieldClicked) {
+        if (validationHandler.isPieceOnField(rowFieldClicked, colFieldClicked)) {
+            OCCUPIED_FIELDS.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void makeSingleMove(int to) {
+        long move = findMove(squareOf(selectedPiece), to);
+        if (move == Move.NONE) {
+            INVALID_MOVES.increment();
+            return;
+        }
+        SINGLE_MOVES.increment();
+        relocatePiece(selectedPiece, Squares.row(to), Squares.col(to));
+        if (Move.isPromotion(move)) {
+            markPieceAsKing(selectedPiece);
+        }
+        resetSelectedPieceSize();
+        selectedPiece = null;
+        switchPlayerTurn();
+    }
+
+    /**
+     * @return The quiet legal move between the two squares, or {@link Move#NONE}.
+     */
+    private long findMove(int from, int to) {
+        for (int i = 0; i < legalMoves.size(); i++) {
+            long move = legalMoves.get(i);
+            if (Move.from(move) == from && Move.to(move) == to && !Move.isCapture(move)) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    private void makeCaptureMove(int to) {
+        int current = squareOf(selectedPiece);
+        landings[jumps] = to;
+        long move = matchCapture(turnOrigin(selectedPiece), jumps + 1);
+        if (move == Move.NONE) {
+            if (isInCaptureSequence) {
+                UNFINISHED_CAPTURES.increment();
+            } else if (Math.abs(Squares.row(to) - Squares.row(current)) == 1) {
+                CAPTURE_REQUIRED.increment();
+            } else {
+                INVALID_MOVES.increment();
+            }
+            return;
+        }
+        jumps++;
+        CAPTURE_MOVES.increment();
+        if (board.isKing(current)) {
+            KING_CAPTURES.increment();
+        }
+        Circle capturedPiece = gameBoard.pieceAt(capturedBetween(current, to));
+        removePiece(capturedPiece);
+        gameStatusUpdater.updatePieceCount(capturedPiece);
+        relocatePiece(selectedPiece, Squares.row(to), Squares.col(to));
+        if (Move.captureCount(move) > jumps) {
+            isInCaptureSequence = true;
+            publish(position.inCapture(board));
+        } else {
+            endCaptureSequence(move);
+        }
+    }
+
+    /**
+     * Looks the jumps of this turn up in the legal moves cached when the turn began,
+     * replaying each candidate from the position the turn started in.
+     *
+     * @return A legal capture from {@code from} that the first {@code count} landing
+     * squares lead into, preferring one they complete, or {@link Move#NONE}.
+     */
+    private long matchCapture(int from, int count) {
+        long found = Move.NONE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            long move = legalMoves.get(i);
+            if (Move.from(move) != from || !MoveGenerator.continuesCapture(history, move, landings, count)) {
+                continue;
+            }
+            if (Move.captureCount(move) == count) {
+                return move;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * @return The piece between two squares on a diagonal; after a matched jump there is
+     * exactly one, as pieces captured earlier in the turn are already off the board.
+     */
+    private int capturedBetween(int from, int to) {
+        int rowStep = Integer.signum(Squares.row(to) - Squares.row(from));
+        int colStep = Integer.signum(Squares.col(to) - Squares.col(from));
+        int row = Squares.row(from) + rowStep;
+        int col = Squares.col(from) + colStep;
+        while (!board.isOccupied(Squares.of(row, col))) {
+            row += rowStep;
+            col += colStep;
+        }
+        return Squares.of(row, col);
+    }
+
+    /**
+     * Moves a piece in the model and redraws the two squares involved. Piece nodes
+     * belong to squares, so the piece is shown by a different node afterwards; the
+     * selection follows it.
+     *
+     * @return The node now showing the piece.
+     */
+    private Circle relocatePiece(Circle piece, int newRow, int newCol) {
+        int from = squareOf(piece);
+        int to = Squares.of(newRow, newCol);
+        board.move(from, to);
+        if (turnFrom == Squares.NONE) {
+            turnFrom = from;
+        }
+        turnTo = to;
+        gameBoard.render(board);
+        Circle moved = gameBoard.pieceAt(to);
+        if (piece == selectedPiece) {
+            selectedPiece = moved;
+            scalePiece(moved);
+        }
+        return moved;
+    }
+
+    private void removePiece(Circle piece) {
+        int square = squareOf(piece);
+        board.remove(square);
+        turnCaptured |= Squares.bit(square);
+        gameBoard.render(board);
+    }
+
+    private static int squareOf(Circle piece) {
+        return Squares.of(GridPane.getRowIndex(piece), GridPane.getColumnIndex(piece));
+    }
+
+    /**
+     * @return The square the moving piece started the turn on.
+     */
+    private int turnOrigin(Circle piece) {
+        return turnFrom == Squares.NONE ? squareOf(piece) : turnFrom;
+    }
+
+    /**
+     * Crowns the piece only now that the capture is complete: where men may capture
+     * backwards, a man passing the far row mid-capture carries on as a man.
+     */
+    private void endCaptureSequence(long move) {
+        if (Move.isPromotion(move)) {
+            markPieceAsKing(selectedPiece);
+        }
+        isInCaptureSequence = false;
+        resetSelectedPieceSize();
+        selectedPiece = null;
+        switchPlayerTurn();
+    }
+
+    /**
+     * Enlarges the selected piece through its scale properties, which scale about the
+     * centre, so selecting again never piles up transforms.
+     */
+    private void scalePiece(Circle piece) {
+        piece.setScaleX(SELECTED_SCALE);
+        piece.setScaleY(SELECTED_SCALE);
+    }
+
+    private void resetSelectedPieceSize() {
+        if (selectedPiece != null) {
+            selectedPiece.setScaleX(1.0);
+            selectedPiece.setScaleY(1.0);
+            selectedPiece = null;
+        }
+    }
+
+    @Override
+    public Circle findPiece(int row, int col) {
+        FIND_PIECE_CALLS.increment();
+        int square = Squares.of(row, col);
+        if (square == Squares.NONE || !board.isOccupied(square)) {
+            return null;
+        }
+        return gameBoard.pieceAt(square);
+    }
+
+    private void switchPlayerTurn() {
+        long move = recordTurn();
+        isWhitePlayerMove = !isWhitePlayerMove;
+        board.setWhiteToMove(isWhitePlayerMove);
+        if (move != Move.NONE) {
+            tracker.played(history, move);
+        }
+        publish(move == Move.NONE ? Position.of(board) : position.next(board, move));
+        updateStatus();
+        if (computerPlayer != null && computerPlayer.isToMove(board)) {
+            playComputerMove();
+        }
+    }
+
+    /**
+     * Generates the legal moves once for the turn that starts now: they decide whether
+     * the game has ended, which pieces must capture and how far a capture may go.
+     * Moves are refused while the game is over, until an undo reopens it.
+     */
+    private void updateStatus() {
+        MoveGenerator.generate(board, legalMoves);
+        status = tracker.status(legalMoves.size());
+        captureMask = MoveGenerator.captureMask(legalMoves);
+        gameBoard.highlight(captureMask);
+        gameStatusUpdater.showStatus(status);
+    }
+
+    GameTracker.Status status() {
+        return status;
+    }
+
+    /**
+     * Starts the computer's search in the background and plays its move on the
+     * JavaFX application thread once it arrives.
+     */
+    private void playComputerMove() {
+        if (status.isOver()) {
+            return;
+        }
+        isComputerThinking = true;
+        computerPlayer.chooseMove(board).thenAccept(result -> Platform.runLater(() -> {
+            isComputerThinking = false;
+            if (!result.hasMove()) {
+                // Game over is detected before the computer is asked, so this should not happen.
+                COMPUTER_WITHOUT_MOVE.increment();
+                return;
+            }
+            applyMove(result.bestMove());
+        }));
+    }
+
+    /**
+     * Plays a complete move from the move generator on the grid: removes every
+     * captured piece, moves the piece, crowns it if needed and passes the turn.
+     */
+    private void applyMove(long move) {
+        for (int captured = Move.captured(move); captured != 0; captured &= captured - 1) {
+            Circle capturedPiece = gameBoard.pieceAt(Integer.numberOfTrailingZeros(captured));
+            removePiece(capturedPiece);
+            gameStatusUpdater.updatePieceCount(capturedPiece);
+        }
+        int to = Move.to(move);
+        Circle piece = relocatePiece(gameBoard.pieceAt(Move.from(move)), Squares.row(to), Squares.col(to));
+        if (Move.isPromotion(move)) {
+            markPieceAsKing(piece);
+        }
+        switchPlayerTurn();
+    }
+
+    private void markPieceAsKing(Circle piece) {
+        int square = squareOf(piece);
+        if (!board.isKing(square)) {
+            board.promote(square);
+            turnPromoted = true;
+            gameBoard.render(board);
+        }
+    }
+
+    void deselectPiece() {
+        resetSelectedPieceSize();
+        selectedPiece = null;
+    }
+
+    void selectPiece(Circle piece) {
+        if (isComputerThinking) {
+            return;
+        }
+        scalePiece(piece);
+        selectedPiece = piece;
+    }
+}
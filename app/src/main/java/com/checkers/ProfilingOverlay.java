@@ -0,0 +1,80 @@
+package com.checkers;
+
+import com.checkers.metrics.Histogram;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+
+/**
+ * A corner readout of how quickly the window responds, shown with {@code --profile=true}.
+ * Click latency runs from the mouse event to the end of the layout pass of the pulse
+ * that shows its effect; pulse time is how long each pulse spends from its
+ * pre-layout to its post-layout callback. Both are kept in histograms and the
+ * readout shows their p50, p95 and maximum, refreshed a few times a second.
+ */
+public class ProfilingOverlay {
+
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    private final Histogram clickLatency = new Histogram();
+    private final Histogram pulseTime = new Histogram();
+    private final Label label = new Label();
+    private long clickNanos;
+    private long pulseStartNanos;
+    private long lastRefreshNanos;
+
+    public ProfilingOverlay() {
+        label.setMouseTransparent(true);
+        label.setPadding(new Insets(4));
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-text-fill: white; -fx-font-family: monospace;");
+        StackPane.setAlignment(label, Pos.BOTTOM_LEFT);
+    }
+
+    /**
+     * @param content The scene's content.
+     * @return The content with the readout laid over it; use it as the scene's root.
+     */
+    public Parent wrap(Parent content) {
+        return new StackPane(content, label);
+    }
+
+    /**
+     * Starts measuring the scene's clicks and pulses.
+     */
+    public void install(Scene scene) {
+        scene.addEventFilter(MouseEvent.MOUSE_CLICKED, event -> clickNanos = System.nanoTime());
+        scene.addPreLayoutPulseListener(() -> pulseStartNanos = System.nanoTime());
+        scene.addPostLayoutPulseListener(this::pulseFinished);
+    }
+
+    private void pulseFinished() {
+        long now = System.nanoTime();
+        pulseTime.record(now - pulseStartNanos);
+        if (clickNanos != 0) {
+            clickLatency.record(now - clickNanos);
+            clickNanos = 0;
+        }
+        if (now - lastRefreshNanos >= REFRESH_NANOS) {
+            lastRefreshNanos = now;
+            // Changing the text schedules one more pulse; refreshing rarely keeps that cheap.
+            label.setText(format("click", clickLatency) + "\n" + format("pulse", pulseTime));
+        }
+    }
+
+    private static String format(String name, Histogram histogram) {
+        return String.format("%-5s n=%d p50=%.2fms p95=%.2fms max=%.2fms", name, histogram.count(),
+                histogram.percentile(50) / 1e6, histogram.percentile(95) / 1e6, histogram.max() / 1e6);
+    }
+
+    /**
+     * @return A summary of both histograms, for printing when the window closes.
+     */
+    @Override
+    public String toString() {
+        return format("click", clickLatency) + ", " + format("pulse", pulseTime);
+    }
+}
@@ -0,0 +1,29 @@
+package com.checkers;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+public class ValidationHandler {
+    private final BoardStateProvider boardStateProvider;
+    private static final Color PIECE_COLOR_WHITE = Color.WHITE;
+    private static final Color PIECE_COLOR_BLACK = Color.BLACK;
+
+    public ValidationHandler(BoardStateProvider boardStateProvider) {
+        this.boardStateProvider = boardStateProvider;
+    }
+
+    boolean isPieceOnField(int row, int col) {
+
+        Circle piece = boardStateProvider.findPiece(row, col);
+        if (piece != null) {
+            Color pieceColor = (Color) piece.getFill();
+            return pieceColor == Color.WHITE || pieceColor == Color.BLACK;
+        }
+        return false;
+    }
+
+    public boolean isPlayerTurnValid(Circle piece, boolean isWhitePlayerMove) {
+        return (isWhitePlayerMove && piece.getFill() == PIECE_COLOR_WHITE) ||
+                (!isWhitePlayerMove && piece.getFill() == PIECE_COLOR_BLACK);
+    }
+}
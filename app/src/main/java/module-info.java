@@ -1,8 +1,9 @@
 module com.checkers {
+    requires com.checkers.core;
     requires javafx.controls;
     requires javafx.fxml;
 
 
     opens com.checkers to javafx.fxml;
     exports com.checkers;
-}
\ No newline at end of file
+}
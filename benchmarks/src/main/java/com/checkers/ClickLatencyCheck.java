@@ -0,0 +1,193 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.GameTracker;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Squares;
+import com.checkers.core.Variant;
+import com.checkers.metrics.Histogram;
+import javafx.scene.layout.GridPane;
+import javafx.scene.shape.Circle;
+
+import java.util.SplittableRandom;
+
+/**
+ * Replays random games through {@link PieceMovementHandler} as scripted clicks, the
+ * way {@code GameController} forwards them, and fails if the 95th percentile of the
+ * time to handle one click exceeds a budget. Like {@link ValidationHandlerBenchmark}
+ * it only creates shapes and a grid, so it runs headless without starting the JavaFX
+ * toolkit; what it measures is the model and node updates, not the pulse that draws them,
+ * which {@code --profile=true} shows in the running game.
+ *
+ * <p>Every move is checked against the move generator's position afterwards, so a
+ * click that the handler wrongly refuses or misplays also fails the check. Games use
+ * the English rules, whose captures are single hops the grid can be clicked through.
+ *
+ * <p>Run with {@code java -cp benchmarks/target/benchmarks.jar com.checkers.ClickLatencyCheck
+ * [--games=200] [--warmup=50] [--seed=1] [--budget-micros=500]}; it exits with status 1
+ * on failure.
+ */
+public class ClickLatencyCheck {
+
+    private static final int MAX_PLIES = 200;
+
+    private final Histogram clicks = new Histogram();
+    private final MoveList moves = new MoveList();
+    private final SplittableRandom random;
+
+    public ClickLatencyCheck(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Plays one game from the initial position.
+     *
+     * @param record Whether to record click times; off while warming up.
+     * @throws IllegalStateException If the handler's position departs from the game's.
+     */
+    public void playGame(boolean record) {
+        GameBoard gameBoard = new GameBoard(new GridPane());
+        PieceMovementHandler handler = new PieceMovementHandler(gameBoard, new SilentStatusUpdater());
+        handler.setVariant(Variant.ENGLISH);
+        Board reference = Board.initial(Variant.ENGLISH);
+
+        for (int ply = 0; ply < MAX_PLIES && !handler.status().isOver(); ply++) {
+            MoveGenerator.generate(reference, moves);
+            long move = moves.get(random.nextInt(moves.size()));
+            int[] path = path(reference, move);
+
+            long start = System.nanoTime();
+            handler.deselectPiece();
+            handler.selectPiece(gameBoard.pieceAt(Move.from(move)));
+            record(record, start);
+            for (int square : path) {
+                start = System.nanoTime();
+                handler.executeMoveForSelectedPiece(Squares.row(square), Squares.col(square));
+                record(record, start);
+            }
+
+            reference.makeMove(move);
+            Board shown = handler.getBoard();
+            if (shown.whitePieces() != reference.whitePieces() || shown.blackPieces() != reference.blackPieces()
+                    || shown.kings() != reference.kings() || shown.isWhiteToMove() != reference.isWhiteToMove()) {
+                throw new IllegalStateException("Clicking " + Move.toString(move) + " at ply " + ply
+                        + " left the board out of step with the game");
+            }
+        }
+    }
+
+    /**
+     * Labels are controls, which need the toolkit, so the status goes nowhere.
+     */
+    private static final class SilentStatusUpdater extends GameStatusUpdater {
+
+        SilentStatusUpdater() {
+            super(null, null, null);
+        }
+
+        @Override
+        public void updatePlayerPieceCount(int whiteCount, int blackCount) {
+        }
+
+        @Override
+        public void updatePieceCount(Circle pieceRemoved) {
+        }
+
+        @Override
+        public void showStatus(GameTracker.Status status) {
+        }
+    }
+
+    private void record(boolean record, long startNanos) {
+        if (record) {
+            clicks.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * @return The squares to click after selecting the piece: the destination of a
+     * quiet move, or every landing square of a capture in order.
+     */
+    private static int[] path(Board board, long move) {
+        if (!Move.isCapture(move)) {
+            return new int[]{Move.to(move)};
+        }
+        int[] path = new int[Move.captureCount(move)];
+        int empty = board.empty() | Squares.bit(Move.from(move));
+        if (!findPath(Move.from(move), Move.captured(move), Move.to(move), empty, path, 0)) {
+            throw new IllegalStateException("No route for " + Move.toString(move));
+        }
+        return path;
+    }
+
+    private static boolean findPath(int square, int remaining, int to, int empty, int[] path, int length) {
+        if (remaining == 0) {
+            return square == to;
+        }
+        for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+            int over = Squares.neighbour(square, dir);
+            int landing = Squares.jump(square, dir);
+            if (landing == Squares.NONE || (remaining >>> over & 1) == 0 || (empty >>> landing & 1) == 0) {
+                continue;
+            }
+            path[length] = landing;
+            if (findPath(landing, remaining & ~Squares.bit(over), to, empty, path, length + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Histogram clicks() {
+        return clicks;
+    }
+
+    public static void main(String[] args) {
+        int games = 200;
+        int warmup = 50;
+        long seed = 1;
+        long budgetMicros = 500;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--games=")) {
+                games = Integer.parseInt(value);
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--budget-micros=")) {
+                budgetMicros = Long.parseLong(value);
+            } else {
+                System.err.println("Usage: ClickLatencyCheck [--games=200] [--warmup=50] [--seed=1] "
+                        + "[--budget-micros=500]");
+                System.exit(2);
+            }
+        }
+
+        // Effects load the graphics pipeline; the software one needs no display.
+        if (System.getProperty("prism.order") == null) {
+            System.setProperty("prism.order", "sw");
+        }
+        ClickLatencyCheck check = new ClickLatencyCheck(seed);
+        try {
+            for (int game = 0; game < warmup + games; game++) {
+                check.playGame(game >= warmup);
+            }
+        } catch (IllegalStateException e) {
+            System.out.println("FAIL: " + e.getMessage());
+            System.exit(1);
+        }
+        Histogram clicks = check.clicks();
+        double p95Micros = clicks.percentile(95) / 1000.0;
+        System.out.printf("%,d clicks: p50=%.1fus p95=%.1fus p99=%.1fus max=%.1fus, budget p95 %dus%n",
+                clicks.count(), clicks.percentile(50) / 1000.0, p95Micros, clicks.percentile(99) / 1000.0,
+                clicks.max() / 1000.0, budgetMicros);
+        if (p95Micros > budgetMicros) {
+            System.out.println("FAIL: p95 click latency over budget");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+}
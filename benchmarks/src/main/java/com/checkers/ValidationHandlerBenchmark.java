@@ -0,0 +1,132 @@
+package com.checkers;
+
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Squares;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the click-time checks of {@link PieceMovementHandler}, run against every
+ * piece of a middlegame position: the {@link ValidationHandler} turn and occupancy
+ * checks, then the lookup of the clicked square in the turn's legal moves. The
+ * {@code sceneScan} provider reproduces the original walk over every grid child per
+ * lookup; {@code indexed} is the O(1) square lookup now used by the handler.
+ * {@code captureMask} is the once-per-turn move generation that replaced the
+ * per-piece capture scans.
+ * Only shapes are created, so the JavaFX toolkit is never started.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprism.order=sw")
+public class ValidationHandlerBenchmark {
+
+    @Param({"indexed", "sceneScan"})
+    public String provider;
+
+    private ValidationHandler validationHandler;
+    private Circle[] pieces;
+    private Board board;
+    private final MoveList moves = new MoveList();
+    private final MoveList legalMoves = new MoveList();
+    private final int[] landings = new int[1];
+
+    @Setup
+    public void setUp() {
+        board = com.checkers.benchmarks.BenchmarkPositions.middlegame();
+        Circle[] bySquare = new Circle[Squares.COUNT];
+        List<Circle> nodes = new ArrayList<>();
+        for (int square = 0; square < Squares.COUNT; square++) {
+            if (board.isOccupied(square)) {
+                Circle piece = new Piece(board.isWhite(square) ? Color.WHITE : Color.BLACK).getPiece();
+                GridPane.setRowIndex(piece, Squares.row(square));
+                GridPane.setColumnIndex(piece, Squares.col(square));
+                bySquare[square] = piece;
+                nodes.add(piece);
+            }
+        }
+        pieces = nodes.toArray(new Circle[0]);
+
+        BoardStateProvider stateProvider;
+        if (provider.equals("indexed")) {
+            stateProvider = (row, col) -> {
+                int square = Squares.of(row, col);
+                return square == Squares.NONE ? null : bySquare[square];
+            };
+        } else {
+            stateProvider = (row, col) -> {
+                for (Circle node : nodes) {
+                    if (GridPane.getRowIndex(node) == row && GridPane.getColumnIndex(node) == col) {
+                        return node;
+                    }
+                }
+                return null;
+            };
+        }
+        validationHandler = new ValidationHandler(stateProvider);
+        MoveGenerator.generate(board, legalMoves);
+    }
+
+    @Benchmark
+    public int captureMask() {
+        MoveGenerator.generate(board, moves);
+        return MoveGenerator.captureMask(moves);
+    }
+
+    @Benchmark
+    public int clickChecks() {
+        boolean captures = MoveGenerator.captureMask(legalMoves) != 0;
+        int valid = 0;
+        for (Circle piece : pieces) {
+            if (!validationHandler.isPlayerTurnValid(piece, board.isWhiteToMove())) {
+                continue;
+            }
+            int from = Squares.of(GridPane.getRowIndex(piece), GridPane.getColumnIndex(piece));
+            for (int to = 0; to < Squares.COUNT; to++) {
+                if (!validationHandler.isPieceOnField(Squares.row(to), Squares.col(to))
+                        && matches(from, to, captures)) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * The handler's move lookup: a quiet move by its ends, or the first jump of a capture.
+     */
+    private boolean matches(int from, int to, boolean captures) {
+        landings[0] = to;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            long move = legalMoves.get(i);
+            if (Move.from(move) != from) {
+                continue;
+            }
+            if (captures ? MoveGenerator.continuesCapture(board, move, landings, 1) : Move.to(move) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.checkers.benchmarks;
+
+import com.checkers.core.Board;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+
+import java.util.Random;
+
+/**
+ * Builds reproducible benchmark positions by playing random legal moves from the
+ * start position, so the benchmarks cover openings, middlegames and king endings.
+ */
+public final class BenchmarkPositions {
+
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * @return A fixed position from the middle of a random game.
+     */
+    public static Board middlegame() {
+        return randomGamePositions(30, 7L)[29];
+    }
+
+    static Board[] randomGamePositions(int count, long seed) {
+        Random random = new Random(seed);
+        MoveList moves = new MoveList();
+        Board[] positions = new Board[count];
+        Board board = Board.initial();
+        for (int i = 0; i < count; i++) {
+            if (MoveGenerator.generate(board, moves) == 0 || random.nextInt(80) == 0) {
+                board = Board.initial();
+                MoveGenerator.generate(board, moves);
+            }
+            board.makeMove(moves.get(random.nextInt(moves.size())));
+            positions[i] = new Board(board);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,66 @@
+package com.checkers.benchmarks;
+
+import com.checkers.core.Board;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of legal move generation and of make/unmake over a fixed set of
+ * positions taken from random games.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    private static final int POSITIONS = 1024;
+
+    private Board[] positions;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp() {
+        positions = BenchmarkPositions.randomGamePositions(POSITIONS, 42L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int generateMoves() {
+        int total = 0;
+        for (Board position : positions) {
+            total += MoveGenerator.generate(position, moves);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int makeUnmakeAllMoves() {
+        int total = 0;
+        for (Board position : positions) {
+            int count = MoveGenerator.generate(position, moves);
+            for (int i = 0; i < count; i++) {
+                position.make(moves.get(i));
+                total += position.whitePieces();
+                position.unmake();
+            }
+        }
+        return total;
+    }
+}
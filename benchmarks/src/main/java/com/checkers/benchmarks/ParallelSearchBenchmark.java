@@ -0,0 +1,95 @@
+package com.checkers.benchmarks;
+
+import com.checkers.core.Board;
+import com.checkers.engine.ParallelSearch;
+import com.checkers.engine.SearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for the Lazy SMP search to complete a fixed depth, by thread count. Every
+ * invocation starts from an empty transposition table. Run the class's main method
+ * to get the speedup over one thread:
+ * {@code java -cp target/benchmarks.jar com.checkers.benchmarks.ParallelSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelSearchBenchmark {
+
+    private static final long NO_TIME_LIMIT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"16"})
+    public int depth;
+
+    private ParallelSearch search;
+    private Board[] positions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        positions = new Board[]{Board.initial(), BenchmarkPositions.middlegame()};
+    }
+
+    @Setup(Level.Invocation)
+    public void newTable() {
+        search = new ParallelSearch(threads, 128);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeSearch() {
+        search.close();
+    }
+
+    @Benchmark
+    public long timeToDepth() {
+        long nodes = 0;
+        for (Board position : positions) {
+            SearchResult result = search.search(position, depth, NO_TIME_LIMIT_MILLIS);
+            nodes += result.nodes();
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ParallelSearchBenchmark.class.getSimpleName())
+                .build()).run();
+
+        Map<Integer, Double> millisByThreads = new TreeMap<>();
+        for (RunResult result : results) {
+            int threadCount = Integer.parseInt(result.getParams().getParam("threads"));
+            millisByThreads.put(threadCount, result.getPrimaryResult().getScore());
+        }
+        double baseline = millisByThreads.getOrDefault(1, Double.NaN);
+        System.out.println();
+        System.out.println("threads  time-to-depth (ms)  speedup");
+        millisByThreads.forEach((threadCount, millis) ->
+                System.out.printf("%7d  %18.1f  %7.2fx%n", threadCount, millis, baseline / millis));
+    }
+}
@@ -0,0 +1,53 @@
+package com.checkers.benchmarks;
+
+import com.checkers.core.Board;
+import com.checkers.core.Perft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run perft from the start position. Each invocation also checks the
+ * result against the reference counts, so a faster but wrong generator fails
+ * the benchmark instead of reporting a speedup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+
+    @Param({"6", "8"})
+    public int depth;
+
+    private Perft perft;
+    private Board start;
+
+    @Setup
+    public void setUp() {
+        perft = new Perft();
+        start = Board.initial();
+    }
+
+    @Benchmark
+    public long perftFromStart() {
+        long nodes = perft.perft(start, depth);
+        if (nodes != Perft.START_POSITION_COUNTS[depth]) {
+            throw new IllegalStateException("perft(" + depth + ") = " + nodes
+                    + ", expected " + Perft.START_POSITION_COUNTS[depth]);
+        }
+        return nodes;
+    }
+}
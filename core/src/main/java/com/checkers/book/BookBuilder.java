@@ -0,0 +1,386 @@
+package com.checkers.book;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.Move;
+import com.checkers.core.MoveList;
+import com.checkers.core.MoveNotation;
+import com.checkers.gamelog.MoveLogReader;
+import com.checkers.gamelog.MoveLogWriter;
+import com.checkers.pdn.PdnGame;
+import com.checkers.pdn.PdnReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Builds an {@link OpeningBook} from PDN files and move logs. Games are streamed one
+ * at a time and the first plies of each are counted in a fixed-size table; whenever
+ * the table fills up it is sorted and spilled to a run file, and the runs are merged
+ * at the end. Memory use is therefore set by {@code --memory-entries}, not by the size
+ * of the corpus.
+ *
+ * <p>Results are read from the first mover's point of view: in PDN, {@code 2-0} and
+ * {@code 1-0} mean the side that moved first won. Files ending in {@code .pdn} are read
+ * as PDN and anything else as a move log.
+ *
+ * <p>Run with {@code java com.checkers.book.BookBuilder <book> [--plies=16] [--min-games=2]
+ * [--memory-entries=1000000] <file>...}.
+ */
+public class BookBuilder {
+
+    private static final int FIRST_MOVER_WINS = 1;
+    private static final int SECOND_MOVER_WINS = 2;
+    private static final int DRAWN = 3;
+    private static final int UNKNOWN = 0;
+
+    private final int maxPlies;
+    private final int minGames;
+    private final int maxEntries;
+    private final Path workDirectory;
+    private final List<Path> runs = new ArrayList<>();
+    private final MoveList moves = new MoveList();
+    private final Board board = new Board();
+
+    private long[] keys;
+    private long[] keyMoves;
+    private int[] games;
+    private int[] wins;
+    private int[] draws;
+    private int size;
+    private long gamesRead;
+
+    /**
+     * @param maxPlies      How many plies of each game go into the book.
+     * @param minGames      Moves played in fewer games are left out.
+     * @param maxEntries    The most position-move pairs held in memory at once.
+     * @param workDirectory Where run files are spilled.
+     */
+    public BookBuilder(int maxPlies, int minGames, int maxEntries, Path workDirectory) {
+        this.maxPlies = maxPlies;
+        this.minGames = minGames;
+        this.maxEntries = maxEntries;
+        this.workDirectory = workDirectory;
+        // At least twice the entries, so the table is never more than half full.
+        int capacity = Integer.highestOneBit(Math.max(16, maxEntries) - 1) << 2;
+        keys = new long[capacity];
+        keyMoves = new long[capacity];
+        games = new int[capacity];
+        wins = new int[capacity];
+        draws = new int[capacity];
+    }
+
+    public void addPdn(Path file) throws IOException {
+        try (PdnReader reader = new PdnReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            PdnGame game;
+            while ((game = reader.next()) != null) {
+                String fen = game.tag("FEN");
+                try {
+                    board.copyFrom(fen != null ? Fen.parse(fen) : Board.initial());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                int result = pdnResult(game.result());
+                int plies = 0;
+                for (String token : game.moves()) {
+                    if (plies == maxPlies) {
+                        break;
+                    }
+                    long move = MoveNotation.parse(board, token, moves);
+                    if (move == Move.NONE || move == MoveNotation.AMBIGUOUS) {
+                        break;
+                    }
+                    count(board, move, result, plies);
+                    board.makeMove(move);
+                    plies++;
+                }
+                gamesRead++;
+            }
+        }
+    }
+
+    public void addMoveLog(Path file) throws IOException {
+        try (MoveLogReader reader = new MoveLogReader(file)) {
+            for (int game = 0; game < reader.gameCount(); game++) {
+                int plies = Math.min(maxPlies, reader.plyCount(game));
+                int result = switch (reader.result(game)) {
+                    case MoveLogWriter.WHITE_WINS -> FIRST_MOVER_WINS;
+                    case MoveLogWriter.BLACK_WINS -> SECOND_MOVER_WINS;
+                    case MoveLogWriter.DRAW -> DRAWN;
+                    default -> UNKNOWN;
+                };
+                board.copyFrom(reader.positionAt(game, 0));
+                if (!board.isWhiteToMove() && result != UNKNOWN && result != DRAWN) {
+                    result = result == FIRST_MOVER_WINS ? SECOND_MOVER_WINS : FIRST_MOVER_WINS;
+                }
+                long[] gameMoves = reader.moves(game);
+                for (int ply = 0; ply < plies; ply++) {
+                    count(board, gameMoves[ply], result, ply);
+                    board.makeMove(gameMoves[ply]);
+                }
+                gamesRead++;
+            }
+        }
+    }
+
+    private static int pdnResult(String result) {
+        return switch (result) {
+            case "2-0", "1-0" -> FIRST_MOVER_WINS;
+            case "0-2", "0-1" -> SECOND_MOVER_WINS;
+            case "1-1", "1/2-1/2" -> DRAWN;
+            default -> UNKNOWN;
+        };
+    }
+
+    /**
+     * @param result The game result from the first mover's point of view.
+     * @param ply    The ply of the move; even plies belong to the first mover.
+     */
+    private void count(Board position, long move, int result, int ply) throws IOException {
+        long hash = position.hash();
+        int mask = keys.length - 1;
+        int slot = (int) mix(hash ^ move * 0x9E3779B97F4A7C15L) & mask;
+        while (games[slot] != 0 && (keys[slot] != hash || keyMoves[slot] != move)) {
+            slot = (slot + 1) & mask;
+        }
+        if (games[slot] == 0) {
+            keys[slot] = hash;
+            keyMoves[slot] = move;
+            size++;
+        }
+        games[slot]++;
+        boolean firstMover = (ply & 1) == 0;
+        if (result == DRAWN) {
+            draws[slot]++;
+        } else if ((result == FIRST_MOVER_WINS && firstMover) || (result == SECOND_MOVER_WINS && !firstMover)) {
+            wins[slot]++;
+        }
+        if (size >= maxEntries) {
+            spill();
+        }
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        return value ^ value >>> 33;
+    }
+
+    /**
+     * Sorts the table into a new run file and empties it.
+     */
+    private void spill() throws IOException {
+        if (size == 0) {
+            return;
+        }
+        Integer[] order = new Integer[size];
+        int filled = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (games[slot] != 0) {
+                order[filled++] = slot;
+            }
+        }
+        Arrays.sort(order, (a, b) -> compare(keys[a], keyMoves[a], keys[b], keyMoves[b]));
+
+        Path run = Files.createTempFile(workDirectory, "book-run", ".tmp");
+        runs.add(run);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+            for (int slot : order) {
+                out.writeLong(keys[slot]);
+                out.writeLong(keyMoves[slot]);
+                out.writeInt(games[slot]);
+                out.writeInt(wins[slot]);
+                out.writeInt(draws[slot]);
+            }
+        }
+        Arrays.fill(games, 0);
+        Arrays.fill(wins, 0);
+        Arrays.fill(draws, 0);
+        size = 0;
+    }
+
+    static int compare(long hashA, long moveA, long hashB, long moveB) {
+        int byHash = Long.compareUnsigned(hashA, hashB);
+        return byHash != 0 ? byHash : Long.compareUnsigned(moveA, moveB);
+    }
+
+    /**
+     * One open run file during the merge, holding its current entry.
+     */
+    private static final class RunCursor implements AutoCloseable {
+        private final DataInputStream in;
+        long hash;
+        long move;
+        int games;
+        int wins;
+        int draws;
+
+        RunCursor(Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                hash = in.readLong();
+                move = in.readLong();
+                games = in.readInt();
+                wins = in.readInt();
+                draws = in.readInt();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Merges the runs into the book file, adding up entries for the same position and
+     * move and dropping the rare ones.
+     *
+     * @return The number of entries written.
+     */
+    public long write(Path book) throws IOException {
+        spill();
+        Path temporary = book.resolveSibling(book.getFileName() + ".part");
+        long written = 0;
+        List<RunCursor> cursors = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            PriorityQueue<RunCursor> queue = new PriorityQueue<>(
+                    (a, b) -> compare(a.hash, a.move, b.hash, b.move));
+            for (Path run : runs) {
+                RunCursor cursor = new RunCursor(run);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.position(OpeningBook.HEADER_BYTES);
+            long position = 0;
+            while (!queue.isEmpty()) {
+                RunCursor head = queue.poll();
+                long hash = head.hash;
+                long move = head.move;
+                long total = head.games;
+                long totalWins = head.wins;
+                long totalDraws = head.draws;
+                if (head.advance()) {
+                    queue.add(head);
+                }
+                while (!queue.isEmpty() && queue.peek().hash == hash && queue.peek().move == move) {
+                    RunCursor same = queue.poll();
+                    total += same.games;
+                    totalWins += same.wins;
+                    totalDraws += same.draws;
+                    if (same.advance()) {
+                        queue.add(same);
+                    }
+                }
+                if (total < minGames) {
+                    continue;
+                }
+                if (buffer.remaining() < OpeningBook.ENTRY_BYTES) {
+                    buffer.flip();
+                    position += writeFully(channel, buffer, position);
+                    buffer.clear();
+                }
+                buffer.putLong(hash).putLong(move).putInt(saturate(total)).putInt(saturate(totalWins))
+                        .putInt(saturate(totalDraws));
+                written++;
+            }
+            buffer.flip();
+            writeFully(channel, buffer, position);
+
+            ByteBuffer header = ByteBuffer.allocate(OpeningBook.HEADER_BYTES);
+            header.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putLong(written).flip();
+            writeFully(channel, header, 0);
+            channel.force(true);
+        } finally {
+            for (RunCursor cursor : cursors) {
+                cursor.close();
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            runs.clear();
+        }
+        Files.move(temporary, book, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + bytes - buffer.remaining());
+        }
+        return bytes;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+
+    public long gamesRead() {
+        return gamesRead;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BookBuilder <book> [--plies=16] [--min-games=2] [--memory-entries=1000000] <file>...");
+            System.exit(2);
+        }
+        Path book = Path.of(args[0]);
+        int plies = 16;
+        int minGames = 2;
+        int memoryEntries = 1_000_000;
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--plies=")) {
+                plies = Integer.parseInt(arg.substring("--plies=".length()));
+            } else if (arg.startsWith("--min-games=")) {
+                minGames = Integer.parseInt(arg.substring("--min-games=".length()));
+            } else if (arg.startsWith("--memory-entries=")) {
+                memoryEntries = Integer.parseInt(arg.substring("--memory-entries=".length()));
+            } else {
+                inputs.add(Path.of(arg));
+            }
+        }
+
+        Path absolute = book.toAbsolutePath();
+        BookBuilder builder = new BookBuilder(plies, minGames, memoryEntries, absolute.getParent());
+        long start = System.nanoTime();
+        for (Path input : inputs) {
+            if (input.getFileName().toString().toLowerCase().endsWith(".pdn")) {
+                builder.addPdn(input);
+            } else {
+                builder.addMoveLog(input);
+            }
+        }
+        long entries = builder.write(absolute);
+        System.out.printf("%d games, %d book entries in %.2f s%n", builder.gamesRead(), entries,
+                (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,19 @@
+package com.checkers.book;
+
+/**
+ * What the games in the corpus did from one position.
+ *
+ * @param move  The move played.
+ * @param games How often it was played.
+ * @param wins  How many of those games the side playing it went on to win.
+ * @param draws How many were drawn.
+ */
+public record BookMove(long move, int games, int wins, int draws) {
+
+    /**
+     * @return The score for the side playing the move, from 0 (always lost) to 1.
+     */
+    public double score() {
+        return games == 0 ? 0 : (wins + draws * 0.5) / games;
+    }
+}
@@ -0,0 +1,141 @@
+package com.checkers.book;
+
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * An opening book written by {@link BookBuilder}: move statistics per position, sorted
+ * by position hash and memory-mapped, so a probe is a binary search over the file
+ * without loading it. Safe for concurrent probing.
+ *
+ * <p>File layout: a {@value #HEADER_BYTES}-byte header (magic, version, entry count),
+ * then fixed-size entries ordered by hash and move: hash, move, games, wins, draws.
+ */
+public class OpeningBook {
+
+    static final int MAGIC = 0x434B424B;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 8 + 8 + 4 + 4 + 4;
+
+    private final ByteBuffer entries;
+    private final int count;
+    private final int minGames;
+
+    /**
+     * @param minGames Moves played in fewer games are ignored by {@link #choose}.
+     */
+    public OpeningBook(Path file, int minGames) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported opening book version " + buffer.getInt(4));
+            }
+            long entryCount = buffer.getLong(8);
+            if (HEADER_BYTES + entryCount * ENTRY_BYTES > channel.size()) {
+                throw new IOException("Truncated opening book: " + file);
+            }
+            this.count = (int) entryCount;
+            this.entries = buffer;
+            this.minGames = minGames;
+        }
+    }
+
+    public OpeningBook(Path file) throws IOException {
+        this(file, 1);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return The recorded moves for the position that are legal in it; empty if the
+     * position is not in the book.
+     */
+    public List<BookMove> probe(Board board) {
+        long hash = board.hash();
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(hashAt(mid), hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<BookMove> moves = new ArrayList<>();
+        if (low == count || hashAt(low) != hash) {
+            return moves;
+        }
+        MoveList legal = new MoveList();
+        MoveGenerator.generate(board, legal);
+        for (int i = low; i < count && hashAt(i) == hash; i++) {
+            int offset = HEADER_BYTES + i * ENTRY_BYTES;
+            long move = entries.getLong(offset + 8);
+            if (isLegal(move, legal)) {
+                moves.add(new BookMove(move, entries.getInt(offset + 16), entries.getInt(offset + 20),
+                        entries.getInt(offset + 24)));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Picks a book move at random, weighted by how often each was played.
+     *
+     * @return The move, or {@link Move#NONE} if the position is not in the book.
+     */
+    public long choose(Board board, RandomGenerator random) {
+        List<BookMove> moves = probe(board);
+        long total = 0;
+        for (BookMove move : moves) {
+            if (move.games() >= minGames) {
+                total += move.games();
+            }
+        }
+        if (total == 0) {
+            return Move.NONE;
+        }
+        long pick = random.nextLong(total);
+        for (BookMove move : moves) {
+            if (move.games() >= minGames) {
+                pick -= move.games();
+                if (pick < 0) {
+                    return move.move();
+                }
+            }
+        }
+        return Move.NONE;
+    }
+
+    private long hashAt(int index) {
+        return entries.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    private static boolean isLegal(long move, MoveList legal) {
+        for (int i = 0; i < legal.size(); i++) {
+            if (legal.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,333 @@
+package com.checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * A headless checkers position packed into three 32-bit bitboards: white pieces,
+ * black pieces and kings. Bit {@code n} of each bitboard is playable square
+ * {@code n} as defined by {@link Squares}, so every occupancy query is a shift
+ * and a mask.
+ *
+ * <p>Moves played with {@link #make(long)} are recorded on a primitive undo stack
+ * and taken back with {@link #unmake()}; neither allocates once the stack has
+ * grown to the game's length.
+ *
+ * <p>The board also carries the {@link Variant} whose rules the move generator
+ * applies. Only 8x8 variants fit; larger boards use {@link VariantBoard}.
+ */
+public final class Board {
+
+    private static final int INITIAL_HISTORY = 256;
+
+    private int white;
+    private int black;
+    private int kings;
+    private boolean whiteToMove = true;
+    private long hash;
+    private Variant variant = Variant.STANDARD;
+
+    private long[] undoMoves = new long[INITIAL_HISTORY];
+    private int[] undoCapturedKings = new int[INITIAL_HISTORY];
+    private long[] undoHashes = new long[INITIAL_HISTORY];
+    private int historySize;
+
+    public Board() {
+    }
+
+    /**
+     * @param other The board to copy.
+     */
+    public Board(Board other) {
+        this.white = other.white;
+        this.black = other.black;
+        this.kings = other.kings;
+        this.whiteToMove = other.whiteToMove;
+        this.hash = other.hash;
+        this.variant = other.variant;
+    }
+
+    /**
+     * Overwrites this board with the position of {@code other} without allocating.
+     * The undo history is cleared, not copied.
+     */
+    public void copyFrom(Board other) {
+        this.white = other.white;
+        this.black = other.black;
+        this.kings = other.kings;
+        this.whiteToMove = other.whiteToMove;
+        this.hash = other.hash;
+        this.variant = other.variant;
+        this.historySize = 0;
+    }
+
+    /**
+     * Empties the board, gives white the move and clears the undo history. The
+     * variant is kept.
+     */
+    public void clear() {
+        white = 0;
+        black = 0;
+        kings = 0;
+        whiteToMove = true;
+        hash = 0;
+        historySize = 0;
+    }
+
+    /**
+     * @return The standard start position, matching the layout built by the UI.
+     */
+    public static Board initial() {
+        return initial(Variant.STANDARD);
+    }
+
+    /**
+     * @param variant An 8x8 variant.
+     * @return The variant's start position, white to move.
+     */
+    public static Board initial(Variant variant) {
+        Board board = new Board();
+        board.setVariant(variant);
+        int men = variant.manRows() * Squares.COUNT / Squares.BOARD_SIZE;
+        board.black = (1 << men) - 1;
+        board.white = -1 << (Squares.COUNT - men);
+        board.hash = Zobrist.hash(board);
+        return board;
+    }
+
+    public Variant variant() {
+        return variant;
+    }
+
+    /**
+     * Changes the rules the move generator applies to this position.
+     *
+     * @throws IllegalArgumentException If the variant is not played on the 8x8 board.
+     */
+    public void setVariant(Variant variant) {
+        if (!variant.isCompact()) {
+            throw new IllegalArgumentException(variant + " is played on a "
+                    + variant.boardSize() + "x" + variant.boardSize() + " board");
+        }
+        this.variant = variant;
+    }
+
+    public boolean isOccupied(int square) {
+        return ((white | black) >>> square & 1) != 0;
+    }
+
+    public boolean isWhite(int square) {
+        return (white >>> square & 1) != 0;
+    }
+
+    public boolean isBlack(int square) {
+        return (black >>> square & 1) != 0;
+    }
+
+    public boolean isKing(int square) {
+        return (kings >>> square & 1) != 0;
+    }
+
+    /**
+     * @param square  The square to fill; must be empty.
+     * @param isWhite Whether the piece belongs to white.
+     * @param isKing  Whether the piece is a king.
+     */
+    public void place(int square, boolean isWhite, boolean isKing) {
+        int bit = Squares.bit(square);
+        if (isWhite) {
+            white |= bit;
+        } else {
+            black |= bit;
+        }
+        if (isKing) {
+            kings |= bit;
+        }
+        hash ^= Zobrist.key(Zobrist.pieceType(isWhite, isKing), square);
+    }
+
+    public void remove(int square) {
+        if (isOccupied(square)) {
+            hash ^= Zobrist.key(pieceTypeAt(square), square);
+        }
+        int mask = ~Squares.bit(square);
+        white &= mask;
+        black &= mask;
+        kings &= mask;
+    }
+
+    /**
+     * Moves whatever piece stands on {@code from} to the empty square {@code to},
+     * keeping its colour and king flag.
+     */
+    public void move(int from, int to) {
+        if (!isOccupied(from)) {
+            return;
+        }
+        int pieceType = pieceTypeAt(from);
+        hash ^= Zobrist.key(pieceType, from) ^ Zobrist.key(pieceType, to);
+        int fromBit = Squares.bit(from);
+        int toBit = Squares.bit(to);
+        if ((white & fromBit) != 0) {
+            white = (white & ~fromBit) | toBit;
+        } else if ((black & fromBit) != 0) {
+            black = (black & ~fromBit) | toBit;
+        }
+        if ((kings & fromBit) != 0) {
+            kings = (kings & ~fromBit) | toBit;
+        }
+    }
+
+    /**
+     * Plays a move produced by {@link MoveGenerator}: moves the piece, removes the
+     * captured pieces, applies promotion and passes the turn.
+     *
+     * @param move The encoded move, see {@link Move}.
+     */
+    public void makeMove(long move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int fromBit = Squares.bit(from);
+        int toBit = Squares.bit(to);
+        int captured = Move.captured(move);
+
+        int pieceType = pieceTypeAt(from);
+        hash ^= Zobrist.key(pieceType, from)
+                ^ Zobrist.key(Move.isPromotion(move) ? pieceType | 1 : pieceType, to)
+                ^ Zobrist.BLACK_TO_MOVE;
+        for (int pieces = captured; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            hash ^= Zobrist.key(pieceTypeAt(square), square);
+        }
+
+        if ((white & fromBit) != 0) {
+            white = (white & ~fromBit) | toBit;
+            black &= ~captured;
+        } else {
+            black = (black & ~fromBit) | toBit;
+            white &= ~captured;
+        }
+        if ((kings & fromBit) != 0 || Move.isPromotion(move)) {
+            kings = (kings & ~fromBit) | toBit;
+        }
+        kings &= ~captured;
+        whiteToMove = !whiteToMove;
+    }
+
+    /**
+     * Plays a move and records what is needed to take it back.
+     *
+     * @param move The encoded move, see {@link Move}.
+     */
+    public void make(long move) {
+        if (historySize == undoMoves.length) {
+            int capacity = historySize * 2;
+            undoMoves = Arrays.copyOf(undoMoves, capacity);
+            undoCapturedKings = Arrays.copyOf(undoCapturedKings, capacity);
+            undoHashes = Arrays.copyOf(undoHashes, capacity);
+        }
+        undoMoves[historySize] = move;
+        undoCapturedKings[historySize] = Move.captured(move) & kings;
+        undoHashes[historySize] = hash;
+        historySize++;
+        makeMove(move);
+    }
+
+    /**
+     * Takes back the last move played with {@link #make(long)}: returns the piece
+     * to its origin, restores captured pieces and kings, and undoes promotion.
+     */
+    public void unmake() {
+        historySize--;
+        long move = undoMoves[historySize];
+        int fromBit = Squares.bit(Move.from(move));
+        int toBit = Squares.bit(Move.to(move));
+        int captured = Move.captured(move);
+        boolean wasKing = (kings & toBit) != 0 && !Move.isPromotion(move);
+
+        if ((white & toBit) != 0) {
+            white = (white & ~toBit) | fromBit;
+            black |= captured;
+        } else {
+            black = (black & ~toBit) | fromBit;
+            white |= captured;
+        }
+        kings &= ~toBit;
+        if (wasKing) {
+            kings |= fromBit;
+        }
+        kings |= undoCapturedKings[historySize];
+        whiteToMove = !whiteToMove;
+        hash = undoHashes[historySize];
+    }
+
+    /**
+     * @return The number of moves that can be taken back with {@link #unmake()}.
+     */
+    public int historySize() {
+        return historySize;
+    }
+
+    /**
+     * @return The most recent move played with {@link #make(long)}, or {@link Move#NONE}.
+     */
+    public long lastMove() {
+        return historySize == 0 ? Move.NONE : undoMoves[historySize - 1];
+    }
+
+    public void promote(int square) {
+        if (isOccupied(square) && !isKing(square)) {
+            hash ^= Zobrist.key(pieceTypeAt(square), square) ^ Zobrist.key(pieceTypeAt(square) | 1, square);
+            kings |= Squares.bit(square);
+        }
+    }
+
+    private int pieceTypeAt(int square) {
+        return Zobrist.pieceType(isWhite(square), isKing(square));
+    }
+
+    /**
+     * @return The Zobrist hash of this position, maintained incrementally.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    public int whitePieces() {
+        return white;
+    }
+
+    public int blackPieces() {
+        return black;
+    }
+
+    public int kings() {
+        return kings;
+    }
+
+    public int occupied() {
+        return white | black;
+    }
+
+    public int empty() {
+        return ~(white | black);
+    }
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove) {
+            hash ^= Zobrist.BLACK_TO_MOVE;
+        }
+        this.whiteToMove = whiteToMove;
+    }
+
+    public int whiteCount() {
+        return Integer.bitCount(white);
+    }
+
+    public int blackCount() {
+        return Integer.bitCount(black);
+    }
+}
@@ -0,0 +1,159 @@
+package com.checkers.core;
+
+/**
+ * Reads and writes positions in draughts FEN, e.g. {@code W:W21,22,K30:B1-12}: the
+ * side to move, then each side's squares in 1-based notation. A {@code K} prefix
+ * marks a king and {@code a-b} is an ascending range of men. Both sides' fields must
+ * be present, though either may list no squares, as in {@code W:W:B1-12}.
+ */
+public final class Fen {
+
+    private Fen() {
+    }
+
+    /**
+     * The pieces and side to move read from a FEN, as square bitmasks.
+     */
+    private record Fields(long white, long black, long kings, boolean whiteToMove) {
+    }
+
+    /**
+     * @throws IllegalArgumentException If the text is not valid FEN.
+     */
+    public static Board parse(String fen) {
+        Fields fields = parseFields(fen, Squares.COUNT);
+        Board board = new Board();
+        for (long pieces = fields.white | fields.black; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            board.place(square, (fields.white >>> square & 1) != 0, (fields.kings >>> square & 1) != 0);
+        }
+        board.setWhiteToMove(fields.whiteToMove);
+        return board;
+    }
+
+    /**
+     * Reads a position of any variant, numbering squares as on its board.
+     *
+     * @throws IllegalArgumentException If the text is not valid FEN for the variant.
+     */
+    public static VariantBoard parse(String fen, Variant variant) {
+        Fields fields = parseFields(fen, variant.squareCount());
+        VariantBoard board = new VariantBoard(variant);
+        for (long pieces = fields.white | fields.black; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            board.place(square, (fields.white >>> square & 1) != 0, (fields.kings >>> square & 1) != 0);
+        }
+        board.setWhiteToMove(fields.whiteToMove);
+        return board;
+    }
+
+    private static Fields parseFields(String fen, int squareCount) {
+        String text = fen.trim();
+        if (text.endsWith(".")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        String[] fields = text.split(":");
+        if (fields.length < 1 || fields[0].isEmpty()) {
+            throw new IllegalArgumentException("Empty FEN");
+        }
+        long[] pieces = new long[2];
+        long kings = 0;
+        boolean whiteListed = false;
+        boolean blackListed = false;
+        for (int i = 1; i < fields.length; i++) {
+            String field = fields[i].trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            char color = Character.toUpperCase(field.charAt(0));
+            if (color != 'W' && color != 'B' || (color == 'W' ? whiteListed : blackListed)) {
+                throw new IllegalArgumentException("Bad FEN field: " + field);
+            }
+            whiteListed |= color == 'W';
+            blackListed |= color == 'B';
+            kings |= parsePieces(field.substring(1), color == 'W' ? 0 : 1, pieces, squareCount);
+        }
+        if (!whiteListed || !blackListed) {
+            throw new IllegalArgumentException("FEN needs a white and a black field: " + fen);
+        }
+        char side = Character.toUpperCase(fields[0].charAt(0));
+        if (fields[0].trim().length() != 1 || side != 'W' && side != 'B') {
+            throw new IllegalArgumentException("Bad side to move in FEN: " + fen);
+        }
+        return new Fields(pieces[0], pieces[1], kings, side == 'W');
+    }
+
+    /**
+     * Adds one side's squares to {@code pieces[side]}.
+     *
+     * @return The squares of that side's kings.
+     */
+    private static long parsePieces(String text, int side, long[] pieces, int squareCount) {
+        long kings = 0;
+        for (String token : text.split(",")) {
+            String piece = token.trim();
+            if (piece.isEmpty()) {
+                continue;
+            }
+            boolean king = Character.toUpperCase(piece.charAt(0)) == 'K';
+            if (king) {
+                piece = piece.substring(1);
+            }
+            int dash = piece.indexOf('-');
+            int first = parseSquare(dash < 0 ? piece : piece.substring(0, dash), squareCount);
+            int last = dash < 0 ? first : parseSquare(piece.substring(dash + 1), squareCount);
+            if (last < first) {
+                throw new IllegalArgumentException("Descending range in FEN: " + token.trim());
+            }
+            for (int square = first; square <= last; square++) {
+                long bit = 1L << square;
+                if (((pieces[0] | pieces[1]) & bit) != 0) {
+                    throw new IllegalArgumentException("Square " + (square + 1) + " listed twice");
+                }
+                pieces[side] |= bit;
+                if (king) {
+                    kings |= bit;
+                }
+            }
+        }
+        return kings;
+    }
+
+    /**
+     * @return The 0-based square index of a 1-based square number.
+     */
+    private static int parseSquare(String text, int squareCount) {
+        int number;
+        try {
+            number = Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad square in FEN: " + text, e);
+        }
+        if (number < 1 || number > squareCount) {
+            throw new IllegalArgumentException("Square out of range in FEN: " + number);
+        }
+        return number - 1;
+    }
+
+    public static String format(Board board) {
+        StringBuilder fen = new StringBuilder(board.isWhiteToMove() ? "W" : "B");
+        appendPieces(fen.append(":W"), board.whitePieces(), board.kings());
+        appendPieces(fen.append(":B"), board.blackPieces(), board.kings());
+        return fen.toString();
+    }
+
+    private static void appendPieces(StringBuilder fen, int pieces, int kings) {
+        boolean first = true;
+        for (; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            if (!first) {
+                fen.append(',');
+            }
+            if ((kings >>> square & 1) != 0) {
+                fen.append('K');
+            }
+            fen.append(Squares.toNotation(square));
+            first = false;
+        }
+    }
+}
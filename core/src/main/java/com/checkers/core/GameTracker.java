@@ -0,0 +1,185 @@
+package com.checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * Decides when a game is over, in constant time per move. A side with no legal move
+ * loses; the game is drawn when a position occurs for the third time with the same
+ * side to move, or after {@value #NO_PROGRESS_PLIES} plies (forty moves each) with
+ * no capture and no man moved.
+ *
+ * <p>Positions are counted in a hash table keyed by their Zobrist hash. A capture or
+ * a man's move can never be undone, so no position before one can occur again;
+ * entries are therefore never removed while the game goes forward, and
+ * {@link #undo(Board)} simply takes one count back.
+ */
+public final class GameTracker {
+
+    /**
+     * How a game stands after the last move.
+     */
+    public enum Status {
+        IN_PROGRESS(""),
+        WHITE_WINS("no moves"),
+        BLACK_WINS("no moves"),
+        DRAW_BY_REPETITION("repetition"),
+        DRAW_BY_NO_PROGRESS("no progress");
+
+        private final String reason;
+
+        Status(String reason) {
+            this.reason = reason;
+        }
+
+        public boolean isOver() {
+            return this != IN_PROGRESS;
+        }
+
+        public boolean isDraw() {
+            return this == DRAW_BY_REPETITION || this == DRAW_BY_NO_PROGRESS;
+        }
+
+        /**
+         * @return Why the game ended, or an empty string while it goes on.
+         */
+        public String reason() {
+            return reason;
+        }
+    }
+
+    public static final int NO_PROGRESS_PLIES = 80;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int entries;
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private int[] quietPlies = new int[INITIAL_CAPACITY];
+    private int ply;
+    private boolean whiteToMove;
+
+    public GameTracker() {
+        start(Board.initial());
+    }
+
+    /**
+     * Forgets the game so far and starts counting from {@code board}.
+     */
+    public void start(Board board) {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(counts, 0);
+        entries = 0;
+        ply = 0;
+        hashes[0] = board.hash();
+        quietPlies[0] = 0;
+        whiteToMove = board.isWhiteToMove();
+        add(hashes[0], 1);
+    }
+
+    /**
+     * Records a move; call after it was made.
+     *
+     * @param board The position after the move.
+     * @param move  The complete move.
+     */
+    public void played(Board board, long move) {
+        // After the move a man is still a man unless it was just crowned.
+        boolean irreversible = Move.isCapture(move) || Move.isPromotion(move) || !board.isKing(Move.to(move));
+        if (++ply == hashes.length) {
+            hashes = Arrays.copyOf(hashes, ply * 2);
+            quietPlies = Arrays.copyOf(quietPlies, ply * 2);
+        }
+        hashes[ply] = board.hash();
+        quietPlies[ply] = irreversible ? 0 : quietPlies[ply - 1] + 1;
+        whiteToMove = board.isWhiteToMove();
+        add(hashes[ply], 1);
+    }
+
+    /**
+     * Takes back the last recorded move.
+     *
+     * @param board The position after the take-back.
+     */
+    public void undo(Board board) {
+        if (ply == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        add(hashes[ply], -1);
+        ply--;
+        whiteToMove = board.isWhiteToMove();
+    }
+
+    /**
+     * @param legalMoves The number of legal moves for the side to move, as already
+     *                   generated by the caller.
+     * @return How the game stands.
+     */
+    public Status status(int legalMoves) {
+        if (legalMoves == 0) {
+            return whiteToMove ? Status.BLACK_WINS : Status.WHITE_WINS;
+        }
+        if (quietPlies[ply] >= NO_PROGRESS_PLIES) {
+            return Status.DRAW_BY_NO_PROGRESS;
+        }
+        if (repetitions() >= 3) {
+            return Status.DRAW_BY_REPETITION;
+        }
+        return Status.IN_PROGRESS;
+    }
+
+    /**
+     * @return How often the current position has occurred, counting itself.
+     */
+    public int repetitions() {
+        return counts[slot(hashes[ply])];
+    }
+
+    /**
+     * @return The plies since the last capture or man move.
+     */
+    public int quietPlies() {
+        return quietPlies[ply];
+    }
+
+    private void add(long hash, int delta) {
+        int slot = slot(hash);
+        if (counts[slot] == 0 && keys[slot] != hash) {
+            if ((entries + 1) * 2 > keys.length) {
+                grow();
+                slot = slot(hash);
+            }
+            keys[slot] = hash;
+            entries++;
+        }
+        counts[slot] += delta;
+    }
+
+    /**
+     * @return The slot holding {@code hash}, or the empty slot where it belongs.
+     * A slot stays claimed by its hash even when its count drops to zero.
+     */
+    private int slot(long hash) {
+        int mask = keys.length - 1;
+        int slot = (int) (hash ^ hash >>> 32) & mask;
+        while (keys[slot] != hash && (keys[slot] != 0 || counts[slot] != 0)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        entries = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                entries++;
+            }
+        }
+    }
+}
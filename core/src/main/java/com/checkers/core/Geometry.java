@@ -0,0 +1,83 @@
+package com.checkers.core;
+
+/**
+ * The square tables of {@link Squares} for any supported board size. Squares are
+ * numbered the same way: row by row from the top-left, half a row's fields per row,
+ * with the top-left field light.
+ */
+final class Geometry {
+
+    private static final int[] ROW_STEP = {-1, -1, 1, 1};
+    private static final int[] COL_STEP = {-1, 1, -1, 1};
+    private static final Geometry[] BY_SIZE = new Geometry[11];
+
+    static {
+        for (int size = 4; size < BY_SIZE.length; size += 2) {
+            BY_SIZE[size] = new Geometry(size);
+        }
+    }
+
+    final int size;
+    final int count;
+    /** Every playable square's bit. */
+    final long squares;
+    /** Adjacent square in each direction, indexed {@code square * 4 + direction}. */
+    final int[] neighbour;
+    /** Landing square of a short jump in each direction, indexed like {@link #neighbour}. */
+    final int[] jump;
+    /** Every square along each diagonal, nearest first, indexed like {@link #neighbour}. */
+    final int[][] ray;
+
+    private Geometry(int size) {
+        this.size = size;
+        this.count = size * size / 2;
+        this.squares = (1L << count) - 1;
+        this.neighbour = new int[count * Squares.DIRECTIONS];
+        this.jump = new int[count * Squares.DIRECTIONS];
+        this.ray = new int[count * Squares.DIRECTIONS][];
+
+        for (int square = 0; square < count; square++) {
+            int row = row(square);
+            int col = col(square);
+            for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+                int index = square * Squares.DIRECTIONS + dir;
+                neighbour[index] = of(row + ROW_STEP[dir], col + COL_STEP[dir]);
+                jump[index] = neighbour[index] == Squares.NONE
+                        ? Squares.NONE : of(row + 2 * ROW_STEP[dir], col + 2 * COL_STEP[dir]);
+
+                int length = 0;
+                while (of(row + (length + 1) * ROW_STEP[dir], col + (length + 1) * COL_STEP[dir]) != Squares.NONE) {
+                    length++;
+                }
+                int[] squaresAlong = new int[length];
+                for (int step = 1; step <= length; step++) {
+                    squaresAlong[step - 1] = of(row + step * ROW_STEP[dir], col + step * COL_STEP[dir]);
+                }
+                ray[index] = squaresAlong;
+            }
+        }
+    }
+
+    /**
+     * @param size An even board size from 4 to 10.
+     */
+    static Geometry of(int size) {
+        return BY_SIZE[size];
+    }
+
+    int of(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size || (row + col) % 2 == 0) {
+            return Squares.NONE;
+        }
+        return row * (size / 2) + col / 2;
+    }
+
+    int row(int square) {
+        return square / (size / 2);
+    }
+
+    int col(int square) {
+        int half = size / 2;
+        return (square % half << 1) + ((square / half & 1) == 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.checkers.core;
+
+/**
+ * Static helpers for the primitive move encoding used by the generator and search.
+ * A move is a {@code long}: bits 0-4 hold the origin square, bits 5-9 the
+ * destination, bit 10 flags a promotion and the upper 32 bits are the bitboard
+ * of captured pieces. {@link #NONE} is never a legal move.
+ */
+public final class Move {
+
+    public static final long NONE = 0L;
+    private static final long PROMOTION = 1L << 10;
+
+    private Move() {
+    }
+
+    public static long of(int from, int to, int captured, boolean promotion) {
+        long move = from | (to << 5) | ((long) captured << 32);
+        return promotion ? move | PROMOTION : move;
+    }
+
+    public static int from(long move) {
+        return (int) move & 31;
+    }
+
+    public static int to(long move) {
+        return (int) (move >>> 5) & 31;
+    }
+
+    public static int captured(long move) {
+        return (int) (move >>> 32);
+    }
+
+    public static boolean isCapture(long move) {
+        return (move >>> 32) != 0;
+    }
+
+    public static boolean isPromotion(long move) {
+        return (move & PROMOTION) != 0;
+    }
+
+    public static int captureCount(long move) {
+        return Integer.bitCount(captured(move));
+    }
+
+    /**
+     * @return The move in draughts notation, e.g. {@code 22-18} or {@code 18x11}.
+     */
+    public static String toString(long move) {
+        return Squares.toNotation(from(move)) + (isCapture(move) ? "x" : "-") + Squares.toNotation(to(move));
+    }
+}
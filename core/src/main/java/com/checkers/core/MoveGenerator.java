@@ -0,0 +1,293 @@
+package com.checkers.core;
+
+/**
+ * Generates every legal move for the side to move. Captures are mandatory: if any
+ * piece can capture, only capturing moves are returned, each one a complete
+ * multi-jump chain. Men move and capture forward and promote on the far row,
+ * which ends the move. Kings fly: they move any distance along an empty diagonal
+ * and capture a distant piece, landing on any empty square behind it. Pieces
+ * captured earlier in a chain stay on the board until the move completes, so they
+ * block and cannot be jumped twice.
+ *
+ * <p>Those are the {@link Variant#STANDARD} rules. The board's variant can switch to
+ * short kings, men that capture backwards and the majority-capture rule; each rule
+ * has its own loop, so the standard rules pay one branch per piece for the others.
+ */
+public final class MoveGenerator {
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * @param board The position to generate moves for.
+     * @param moves The buffer to fill; it is cleared first.
+     * @return The number of legal moves.
+     */
+    public static int generate(Board board, MoveList moves) {
+        moves.clear();
+        generateCaptures(board, moves);
+        if (moves.isEmpty()) {
+            generateQuietMoves(board, moves);
+        }
+        return moves.size();
+    }
+
+    /**
+     * @param legalMoves The moves {@link #generate} returned for a position.
+     * @return The squares of the pieces that must capture, or 0 if there is no capture.
+     * Captures are mandatory, so while this is not 0 no other piece may move.
+     */
+    public static int captureMask(MoveList legalMoves) {
+        int mask = 0;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            long move = legalMoves.get(i);
+            if (!Move.isCapture(move)) {
+                return 0;
+            }
+            mask |= Squares.bit(Move.from(move));
+        }
+        return mask;
+    }
+
+    /**
+     * Checks a capture played one jump at a time, as a player clicks it. The move alone
+     * does not say where a flying king lands between captures or in which order the
+     * pieces are taken, so the jumps are replayed from the position before the move.
+     *
+     * @param board    The position before the move.
+     * @param move     A legal capture in {@code board}.
+     * @param landings The squares the piece has landed on so far, in order. If the move
+     *                 can be completed and the array is long enough, the landing squares
+     *                 of the rest of one such route are written after them.
+     * @param count    How many of {@code landings} have been played.
+     * @return Whether {@code move} can be completed from the jumps played so far.
+     */
+    public static boolean continuesCapture(Board board, long move, int[] landings, int count) {
+        int from = Move.from(move);
+        boolean king = board.isKing(from);
+        boolean forwardOnly = !king && !board.variant().menCaptureBackwards();
+        int firstDir = forwardOnly && !board.isWhiteToMove() ? Squares.DOWN_LEFT : Squares.UP_LEFT;
+        int lastDir = forwardOnly ? firstDir + 2 : Squares.DIRECTIONS;
+        boolean flying = king && board.variant().flyingKings();
+        return captureRoute(from, Move.captured(move), Move.to(move), board.empty() | Squares.bit(from),
+                flying, firstDir, lastDir, landings, count, 0);
+    }
+
+    private static boolean captureRoute(int square, int remaining, int to, int empty, boolean flying,
+                                        int firstDir, int lastDir, int[] landings, int count, int jumps) {
+        if (remaining == 0) {
+            return square == to && jumps >= count;
+        }
+        for (int dir = firstDir; dir < lastDir; dir++) {
+            int[] ray = Squares.RAY[square * Squares.DIRECTIONS + dir];
+            int i = 0;
+            while (flying && i < ray.length && (empty >>> ray[i] & 1) != 0) {
+                i++;
+            }
+            if (i == ray.length || (remaining >>> ray[i] & 1) == 0) {
+                continue;
+            }
+            int reach = flying ? ray.length : Math.min(i + 2, ray.length);
+            for (int k = i + 1; k < reach && (empty >>> ray[k] & 1) != 0; k++) {
+                if (jumps < count) {
+                    if (ray[k] != landings[jumps]) {
+                        continue;
+                    }
+                } else if (jumps < landings.length) {
+                    landings[jumps] = ray[k];
+                }
+                if (captureRoute(ray[k], remaining & ~Squares.bit(ray[i]), to, empty, flying,
+                        firstDir, lastDir, landings, count, jumps + 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills {@code moves} with every complete capture chain for the side to move.
+     */
+    public static void generateCaptures(Board board, MoveList moves) {
+        Variant variant = board.variant();
+        boolean white = board.isWhiteToMove();
+        int own = white ? board.whitePieces() : board.blackPieces();
+        int opponents = white ? board.blackPieces() : board.whitePieces();
+        int empty = board.empty();
+        int firstDir = white ? Squares.UP_LEFT : Squares.DOWN_LEFT;
+        int promotionRow = white ? 0 : Squares.BOARD_SIZE - 1;
+
+        for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            int vacated = empty | Squares.bit(from);
+            if (board.isKing(from)) {
+                if (variant.flyingKings()) {
+                    kingCaptures(from, from, opponents, vacated, 0, moves);
+                } else {
+                    shortKingCaptures(from, from, opponents, vacated, 0, moves);
+                }
+            } else if (variant.menCaptureBackwards()) {
+                manCapturesAllDirections(from, from, opponents, vacated, 0, promotionRow, moves);
+            } else {
+                manCaptures(from, from, opponents, vacated, 0, firstDir, promotionRow, moves);
+            }
+        }
+        if (variant.majorityCapture()) {
+            keepLongestCaptures(moves);
+        }
+    }
+
+    /**
+     * Drops every capture that takes fewer pieces than the longest one.
+     */
+    private static void keepLongestCaptures(MoveList moves) {
+        int most = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            most = Math.max(most, Move.captureCount(moves.get(i)));
+        }
+        int kept = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (Move.captureCount(move) == most) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    private static void generateQuietMoves(Board board, MoveList moves) {
+        boolean flyingKings = board.variant().flyingKings();
+        boolean white = board.isWhiteToMove();
+        int own = white ? board.whitePieces() : board.blackPieces();
+        int empty = board.empty();
+        int firstDir = white ? Squares.UP_LEFT : Squares.DOWN_LEFT;
+        int promotionRow = white ? 0 : Squares.BOARD_SIZE - 1;
+
+        for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            if (board.isKing(from)) {
+                for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+                    int[] ray = Squares.RAY[from * Squares.DIRECTIONS + dir];
+                    int reach = flyingKings ? ray.length : Math.min(1, ray.length);
+                    for (int i = 0; i < reach && (empty >>> ray[i] & 1) != 0; i++) {
+                        moves.add(Move.of(from, ray[i], 0, false));
+                    }
+                }
+            } else {
+                for (int dir = firstDir; dir < firstDir + 2; dir++) {
+                    int to = Squares.NEIGHBOUR[from * Squares.DIRECTIONS + dir];
+                    if (to != Squares.NONE && (empty >>> to & 1) != 0) {
+                        moves.add(Move.of(from, to, 0, Squares.row(to) == promotionRow));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void manCaptures(int from, int square, int opponents, int empty, int captured,
+                                    int firstDir, int promotionRow, MoveList moves) {
+        boolean extended = false;
+        for (int dir = firstDir; dir < firstDir + 2; dir++) {
+            int index = square * Squares.DIRECTIONS + dir;
+            int over = Squares.NEIGHBOUR[index];
+            int to = Squares.JUMP[index];
+            if (to == Squares.NONE || (opponents >>> over & 1) == 0 || (empty >>> to & 1) == 0) {
+                continue;
+            }
+            extended = true;
+            int nowCaptured = captured | Squares.bit(over);
+            if (Squares.row(to) == promotionRow) {
+                moves.add(Move.of(from, to, nowCaptured, true));
+            } else {
+                manCaptures(from, to, opponents, empty, nowCaptured, firstDir, promotionRow, moves);
+            }
+        }
+        if (!extended && captured != 0) {
+            moves.add(Move.of(from, square, captured, false));
+        }
+    }
+
+    /**
+     * Man captures when men may also jump backwards. Reaching the far row no longer
+     * ends the move, so a jumped piece has to be checked against the chain's
+     * captures, and different routes can end in the same move.
+     */
+    private static void manCapturesAllDirections(int from, int square, int opponents, int empty, int captured,
+                                                 int promotionRow, MoveList moves) {
+        boolean extended = false;
+        for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+            int index = square * Squares.DIRECTIONS + dir;
+            int over = Squares.NEIGHBOUR[index];
+            int to = Squares.JUMP[index];
+            if (to == Squares.NONE || (opponents >>> over & 1) == 0 || (captured >>> over & 1) != 0
+                    || (empty >>> to & 1) == 0) {
+                continue;
+            }
+            extended = true;
+            manCapturesAllDirections(from, to, opponents, empty, captured | Squares.bit(over), promotionRow, moves);
+        }
+        if (!extended && captured != 0) {
+            addCapture(Move.of(from, square, captured, Squares.row(square) == promotionRow), moves);
+        }
+    }
+
+    /**
+     * King captures for variants whose kings jump only an adjacent piece.
+     */
+    private static void shortKingCaptures(int from, int square, int opponents, int empty, int captured,
+                                          MoveList moves) {
+        boolean extended = false;
+        for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+            int index = square * Squares.DIRECTIONS + dir;
+            int over = Squares.NEIGHBOUR[index];
+            int to = Squares.JUMP[index];
+            if (to == Squares.NONE || (opponents >>> over & 1) == 0 || (captured >>> over & 1) != 0
+                    || (empty >>> to & 1) == 0) {
+                continue;
+            }
+            extended = true;
+            shortKingCaptures(from, to, opponents, empty, captured | Squares.bit(over), moves);
+        }
+        if (!extended && captured != 0) {
+            addCapture(Move.of(from, square, captured, false), moves);
+        }
+    }
+
+    /**
+     * Adds a finished capture chain. Chains of two or more captures may have been
+     * reached along another route already.
+     */
+    private static void addCapture(long move, MoveList moves) {
+        if (Move.captureCount(move) > 1) {
+            moves.addUnique(move);
+        } else {
+            moves.add(move);
+        }
+    }
+
+    private static void kingCaptures(int from, int square, int opponents, int empty, int captured, MoveList moves) {
+        boolean extended = false;
+        for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+            int[] ray = Squares.RAY[square * Squares.DIRECTIONS + dir];
+            int i = 0;
+            while (i < ray.length && (empty >>> ray[i] & 1) != 0) {
+                i++;
+            }
+            if (i == ray.length) {
+                continue;
+            }
+            int over = ray[i];
+            if ((opponents >>> over & 1) == 0 || (captured >>> over & 1) != 0) {
+                continue;
+            }
+            int nowCaptured = captured | Squares.bit(over);
+            for (int k = i + 1; k < ray.length && (empty >>> ray[k] & 1) != 0; k++) {
+                extended = true;
+                kingCaptures(from, ray[k], opponents, empty, nowCaptured, moves);
+            }
+        }
+        if (!extended && captured != 0) {
+            addCapture(Move.of(from, square, captured, false), moves);
+        }
+    }
+}
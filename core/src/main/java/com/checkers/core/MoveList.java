@@ -0,0 +1,76 @@
+package com.checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of primitive moves. Callers keep one list per search ply and
+ * clear it before each generation, so generating moves allocates nothing.
+ */
+public final class MoveList {
+
+    private static final int DEFAULT_CAPACITY = 128;
+
+    private long[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        this.moves = new long[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Keeps only the first {@code size} moves.
+     */
+    void truncate(int size) {
+        this.size = size;
+    }
+
+    public void add(long move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Adds the move unless an identical one is already present. Flying-king chains
+     * can reach the same landing square with the same captures in different orders.
+     */
+    void addUnique(long move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return;
+            }
+        }
+        add(move);
+    }
+
+    public long get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, long move) {
+        moves[index] = move;
+    }
+
+    public void swap(int first, int second) {
+        long move = moves[first];
+        moves[first] = moves[second];
+        moves[second] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
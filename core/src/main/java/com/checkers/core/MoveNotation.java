@@ -0,0 +1,201 @@
+package com.checkers.core;
+
+/**
+ * Reads moves written in standard draughts notation. A move names its start and end
+ * squares in 1-based numbering and, for multi-jumps, optionally the landing squares in
+ * between, which pin down the pieces jumped. It is matched against the legal moves, so
+ * a missed mandatory capture or a jump that is not the longest one is rejected.
+ */
+public final class MoveNotation {
+
+    /**
+     * Returned when several legal moves fit the notation.
+     */
+    public static final long AMBIGUOUS = -1L;
+
+    private static final Geometry EIGHT_BY_EIGHT = Geometry.of(Squares.BOARD_SIZE);
+
+    private MoveNotation() {
+    }
+
+    /**
+     * @param board The position the move is played in.
+     * @param token The move, e.g. {@code 22-18}, {@code 18x11} or {@code 18x11x4}. If a
+     *              capture by its ends alone fits several moves, it is read as a single jump.
+     * @param moves A scratch list for the legal moves.
+     * @return The legal move the token describes, {@link Move#NONE} if it is malformed or
+     * illegal, or {@link #AMBIGUOUS} if several legal moves fit it.
+     */
+    public static long parse(Board board, String token, MoveList moves) {
+        int[] squares = new int[Squares.COUNT];
+        int count = parseSquares(token, squares, Squares.COUNT);
+        if (count < 2) {
+            return Move.NONE;
+        }
+        boolean capture = token.indexOf('x') >= 0 || token.indexOf(':') >= 0;
+        int from = squares[0];
+        int to = squares[count - 1];
+
+        MoveGenerator.generate(board, moves);
+        if (count > 2) {
+            return match(moves, from, to, capture, count - 1, (int) pathMask(EIGHT_BY_EIGHT, squares, count));
+        }
+        long found = match(moves, from, to, capture, 0, 0);
+        if (found == AMBIGUOUS && capture) {
+            // Both ends alone are also the whole path of a single jump.
+            long jump = match(moves, from, to, true, 1, (int) pathMask(EIGHT_BY_EIGHT, squares, count));
+            return jump != Move.NONE ? jump : AMBIGUOUS;
+        }
+        return found;
+    }
+
+    /**
+     * @param captures The number of pieces the move must take, or 0 for any.
+     * @param path     The squares its captures must lie on, when {@code captures} is not 0.
+     */
+    private static long match(MoveList moves, int from, int to, boolean capture, int captures, int path) {
+        long found = Move.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (Move.from(move) != from || Move.to(move) != to || Move.isCapture(move) != capture) {
+                continue;
+            }
+            if (captures != 0 && (Move.captureCount(move) != captures || (Move.captured(move) & ~path) != 0)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                return AMBIGUOUS;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Reads a move on a board of any variant, the same way as
+     * {@link #parse(Board, String, MoveList)}.
+     *
+     * @return The legal {@link VariantMove} the token describes, {@link VariantMove#NONE} if
+     * it is malformed or illegal, or {@link #AMBIGUOUS} if several legal moves fit it.
+     */
+    public static long parse(VariantBoard board, String token, MoveList moves) {
+        int squareCount = board.variant().squareCount();
+        int[] squares = new int[squareCount];
+        int count = parseSquares(token, squares, squareCount);
+        if (count < 2) {
+            return VariantMove.NONE;
+        }
+        boolean capture = token.indexOf('x') >= 0 || token.indexOf(':') >= 0;
+        int from = squares[0];
+        int to = squares[count - 1];
+
+        VariantMoveGenerator.generate(board, moves);
+        if (count > 2) {
+            return matchVariant(moves, from, to, capture, count - 1, pathMask(board.geometry, squares, count));
+        }
+        long found = matchVariant(moves, from, to, capture, 0, 0);
+        if (found == AMBIGUOUS && capture) {
+            long jump = matchVariant(moves, from, to, true, 1, pathMask(board.geometry, squares, count));
+            return jump != VariantMove.NONE ? jump : AMBIGUOUS;
+        }
+        return found;
+    }
+
+    private static long matchVariant(MoveList moves, int from, int to, boolean capture, int captures, long path) {
+        long found = VariantMove.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (VariantMove.from(move) != from || VariantMove.to(move) != to
+                    || VariantMove.isCapture(move) != capture) {
+                continue;
+            }
+            if (captures != 0 && (VariantMove.captureCount(move) != captures
+                    || (VariantMove.captured(move) & ~path) != 0)) {
+                continue;
+            }
+            if (found != VariantMove.NONE) {
+                return AMBIGUOUS;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Writes a move so that {@link #parse} reads it back as the same move. A capture of
+     * several pieces that shares its start and end squares with another legal move also
+     * names every landing square in between, e.g. {@code 18x11x4}; any other move is
+     * written as by {@link Move#toString(long)}.
+     *
+     * @param board      The position the move is played in.
+     * @param move       A legal move in {@code board}.
+     * @param legalMoves The legal moves in {@code board}.
+     */
+    public static String format(Board board, long move, MoveList legalMoves) {
+        if (Move.captureCount(move) < 2 || !sharesEnds(move, legalMoves)) {
+            return Move.toString(move);
+        }
+        int[] landings = new int[Move.captureCount(move)];
+        MoveGenerator.continuesCapture(board, move, landings, 0);
+        StringBuilder notation = new StringBuilder().append(Squares.toNotation(Move.from(move)));
+        for (int landing : landings) {
+            notation.append('x').append(Squares.toNotation(landing));
+        }
+        return notation.toString();
+    }
+
+    private static boolean sharesEnds(long move, MoveList legalMoves) {
+        for (int i = 0; i < legalMoves.size(); i++) {
+            long other = legalMoves.get(i);
+            if (other != move && Move.from(other) == Move.from(move) && Move.to(other) == Move.to(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The squares strictly between each pair of consecutive landing squares, where
+     * the pieces jumped along the written path must stand.
+     */
+    private static long pathMask(Geometry geometry, int[] squares, int count) {
+        long mask = 0;
+        for (int i = 1; i < count; i++) {
+            int fromRow = geometry.row(squares[i - 1]);
+            int fromCol = geometry.col(squares[i - 1]);
+            int rowStep = Integer.signum(geometry.row(squares[i]) - fromRow);
+            int colStep = Integer.signum(geometry.col(squares[i]) - fromCol);
+            int distance = Math.abs(geometry.row(squares[i]) - fromRow);
+            if (distance != Math.abs(geometry.col(squares[i]) - fromCol)) {
+                return 0;
+            }
+            for (int step = 1; step < distance; step++) {
+                mask |= 1L << geometry.of(fromRow + step * rowStep, fromCol + step * colStep);
+            }
+        }
+        return mask;
+    }
+
+    private static int parseSquares(String token, int[] squares, int squareCount) {
+        int count = 0;
+        int number = 0;
+        boolean inNumber = false;
+        for (int i = 0; i <= token.length(); i++) {
+            char c = i < token.length() ? token.charAt(i) : '-';
+            if (c >= '0' && c <= '9') {
+                number = number * 10 + (c - '0');
+                inNumber = true;
+            } else if (c == '-' || c == 'x' || c == ':') {
+                if (!inNumber || number < 1 || number > squareCount || count == squares.length) {
+                    return 0;
+                }
+                squares[count++] = Squares.fromNotation(number);
+                number = 0;
+                inNumber = false;
+            } else {
+                return 0;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,206 @@
+package com.checkers.core;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. Perft is the
+ * correctness oracle for the move generator: any change to the rules code must
+ * reproduce {@link #START_POSITION_COUNTS} exactly, and every variant with
+ * published figures must reproduce its {@link #referenceCounts(Variant)}.
+ *
+ * <p>Run with {@code java com.checkers.core.Perft [maxDepth] [--divide] [--variant=international]
+ * [--generic]}. 8x8 variants run on {@link Board}; {@code --generic} runs them on
+ * {@link VariantBoard} instead, which cross-checks the two generators.
+ */
+public final class Perft {
+
+    /**
+     * Reference node counts from the start position, indexed by depth. Depths 1-8
+     * match the published English checkers figures; from depth 9 flying kings
+     * appear and the counts are specific to this rule set.
+     */
+    public static final long[] START_POSITION_COUNTS = {
+            1L, 7L, 49L, 302L, 1_469L, 7_361L, 36_768L, 179_740L, 845_931L,
+            3_963_673L, 18_375_375L, 85_025_292L
+    };
+
+    /** English checkers from the start position, as published. */
+    public static final long[] ENGLISH_COUNTS = {
+            1L, 7L, 49L, 302L, 1_469L, 7_361L, 36_768L, 179_740L, 845_931L,
+            3_963_680L, 18_391_564L, 85_242_128L
+    };
+
+    /** International draughts from the start position, as published. */
+    public static final long[] INTERNATIONAL_COUNTS = {
+            1L, 9L, 81L, 658L, 4_265L, 27_117L, 167_140L, 1_049_442L, 6_483_961L, 41_022_423L
+    };
+
+    private static final int MAX_DEPTH = 64;
+
+    private final MoveList[] moveLists = new MoveList[MAX_DEPTH];
+    private final Board board = new Board();
+
+    public Perft() {
+        for (int ply = 0; ply < MAX_DEPTH; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * @param board The root position; it is not modified.
+     * @param depth The number of plies to expand.
+     * @return The number of positions reached at exactly {@code depth} plies.
+     */
+    public long perft(Board board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        this.board.copyFrom(board);
+        return perft(0, depth);
+    }
+
+    private long perft(int ply, int depth) {
+        MoveList moves = moveLists[ply];
+        int count = MoveGenerator.generate(board, moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.make(moves.get(i));
+            nodes += perft(ply + 1, depth - 1);
+            board.unmake();
+        }
+        return nodes;
+    }
+
+    /**
+     * @param board The root position; it is not modified.
+     * @param depth The number of plies to expand.
+     * @return The number of positions reached at exactly {@code depth} plies.
+     */
+    public long perft(VariantBoard board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        VariantBoard copy = new VariantBoard(board.variant());
+        copy.copyFrom(board);
+        return perft(copy, 0, depth);
+    }
+
+    private long perft(VariantBoard board, int ply, int depth) {
+        MoveList moves = moveLists[ply];
+        int count = VariantMoveGenerator.generate(board, moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.make(moves.get(i));
+            nodes += perft(board, ply + 1, depth - 1);
+            board.unmake();
+        }
+        return nodes;
+    }
+
+    /**
+     * @return The published start position counts for the variant, indexed by depth;
+     * empty if there are none to check against.
+     */
+    public static long[] referenceCounts(Variant variant) {
+        if (variant == Variant.STANDARD) {
+            return START_POSITION_COUNTS;
+        } else if (variant == Variant.ENGLISH) {
+            return ENGLISH_COUNTS;
+        } else if (variant == Variant.INTERNATIONAL) {
+            return INTERNATIONAL_COUNTS;
+        }
+        return new long[0];
+    }
+
+    /**
+     * Prints the node count below each root move, which narrows a perft mismatch
+     * down to a single line.
+     */
+    public long divide(Board board, int depth) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(board, moves);
+        Board child = new Board();
+        long total = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            child.copyFrom(board);
+            child.makeMove(moves.get(i));
+            long nodes = perft(child, depth - 1);
+            System.out.println(Move.toString(moves.get(i)) + ": " + nodes);
+            total += nodes;
+        }
+        return total;
+    }
+
+    /**
+     * Like {@link #divide(Board, int)} for a {@link VariantBoard}.
+     */
+    public long divide(VariantBoard board, int depth) {
+        MoveList moves = new MoveList();
+        VariantMoveGenerator.generate(board, moves);
+        VariantBoard child = new VariantBoard(board.variant());
+        long total = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            child.copyFrom(board);
+            child.makeMove(moves.get(i));
+            long nodes = perft(child, depth - 1);
+            System.out.println(VariantMove.toString(moves.get(i)) + ": " + nodes);
+            total += nodes;
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        int maxDepth = 9;
+        boolean divide = false;
+        boolean generic = false;
+        Variant variant = Variant.STANDARD;
+        for (String arg : args) {
+            if (arg.equals("--divide")) {
+                divide = true;
+            } else if (arg.equals("--generic")) {
+                generic = true;
+            } else if (arg.startsWith("--variant=")) {
+                variant = Variant.parse(arg.substring("--variant=".length()));
+            } else if (!arg.startsWith("--")) {
+                maxDepth = Integer.parseInt(arg);
+            } else {
+                System.err.println("Usage: Perft [maxDepth] [--divide] [--variant=name] [--generic]");
+                System.exit(2);
+            }
+        }
+        Perft perft = new Perft();
+        boolean onBoard = variant.isCompact() && !generic;
+        Board start = onBoard ? Board.initial(variant) : null;
+        VariantBoard variantStart = onBoard ? null : VariantBoard.initial(variant);
+        long[] expected = referenceCounts(variant);
+        boolean allMatched = true;
+
+        System.out.println(variant + (onBoard ? "" : " (generic generator)"));
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long startTime = System.nanoTime();
+            long nodes;
+            if (onBoard) {
+                nodes = divide ? perft.divide(start, depth) : perft.perft(start, depth);
+            } else {
+                nodes = divide ? perft.divide(variantStart, depth) : perft.perft(variantStart, depth);
+            }
+            long elapsed = Math.max(1, System.nanoTime() - startTime);
+
+            String check = "";
+            if (depth < expected.length) {
+                boolean matched = nodes == expected[depth];
+                allMatched &= matched;
+                check = matched ? " OK" : " MISMATCH (expected " + expected[depth] + ")";
+            }
+            System.out.printf("depth %2d  nodes %,15d  %8.1f ms  %,12d nodes/s%s%n",
+                    depth, nodes, elapsed / 1e6, nodes * 1_000_000_000L / elapsed, check);
+        }
+        if (!allMatched) {
+            System.exit(1);
+        }
+    }
+}
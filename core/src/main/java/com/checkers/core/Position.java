@@ -0,0 +1,172 @@
+package com.checkers.core;
+
+/**
+ * An immutable snapshot of a game: the three packed bitboards of {@link Board}, the
+ * side to move and whether that side is in the middle of a multi-jump. Snapshots are
+ * safe to share between threads without locking, so a game publishes a new one
+ * after every move through a single volatile reference and spectators, analysis
+ * and persistence read whichever is current.
+ *
+ * <p>Each snapshot links to the one before its last move, so a game's history is
+ * a chain in which every snapshot shares all earlier ones instead of copying them.
+ * Equality only compares the position itself, not how it was reached.
+ */
+public final class Position {
+
+    private final int white;
+    private final int black;
+    private final int kings;
+    private final boolean whiteToMove;
+    private final boolean inCaptureSequence;
+    private final Variant variant;
+    private final long hash;
+    private final Position previous;
+    private final long lastMove;
+    private final int ply;
+
+    private Position(Board board, boolean inCaptureSequence, Position previous, long lastMove, int ply) {
+        this.white = board.whitePieces();
+        this.black = board.blackPieces();
+        this.kings = board.kings();
+        this.whiteToMove = board.isWhiteToMove();
+        this.inCaptureSequence = inCaptureSequence;
+        this.variant = board.variant();
+        this.hash = board.hash();
+        this.previous = previous;
+        this.lastMove = lastMove;
+        this.ply = ply;
+    }
+
+    /**
+     * @return A snapshot of the board with no history behind it.
+     */
+    public static Position of(Board board) {
+        return new Position(board, false, null, Move.NONE, 0);
+    }
+
+    /**
+     * @param board The position after {@code move} was played from this one.
+     * @param move  The complete move.
+     * @return The next snapshot of the game. If this one is in the middle of a
+     * capture, the move counts from the position where the capture started.
+     */
+    public Position next(Board board, long move) {
+        Position before = settled();
+        return new Position(board, false, before, move, before.ply + 1);
+    }
+
+    /**
+     * @param board The position part-way through a multi-jump; the mover has not changed.
+     * @return A snapshot of the unfinished move, whose {@link #previous()} is the
+     * position where the capture started.
+     */
+    public Position inCapture(Board board) {
+        Position start = settled();
+        return new Position(board, true, start, Move.NONE, start.ply);
+    }
+
+    /**
+     * @return This snapshot, or the position its unfinished capture started from.
+     */
+    private Position settled() {
+        return inCaptureSequence ? previous : this;
+    }
+
+    /**
+     * @return A new board holding this position, with an empty undo history.
+     */
+    public Board toBoard() {
+        Board board = new Board();
+        board.setVariant(variant);
+        for (int pieces = white | black; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            board.place(square, (white >>> square & 1) != 0, (kings >>> square & 1) != 0);
+        }
+        board.setWhiteToMove(whiteToMove);
+        return board;
+    }
+
+    /**
+     * @return Every move from the start of the chain to this position, oldest first.
+     */
+    public long[] moves() {
+        Position settled = settled();
+        long[] moves = new long[settled.ply];
+        for (Position position = settled; position.ply > 0; position = position.previous) {
+            moves[position.ply - 1] = position.lastMove;
+        }
+        return moves;
+    }
+
+    /**
+     * @return The snapshot before the last move, or {@code null} at the start of the
+     * chain. During a capture sequence, the position where the capture started.
+     */
+    public Position previous() {
+        return previous;
+    }
+
+    /**
+     * @return The move that led here, or {@link Move#NONE} at the start of the chain
+     * and during a capture sequence.
+     */
+    public long lastMove() {
+        return lastMove;
+    }
+
+    /**
+     * @return The number of moves from the start of the chain.
+     */
+    public int ply() {
+        return ply;
+    }
+
+    public int whitePieces() {
+        return white;
+    }
+
+    public int blackPieces() {
+        return black;
+    }
+
+    public int kings() {
+        return kings;
+    }
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public boolean isInCaptureSequence() {
+        return inCaptureSequence;
+    }
+
+    public Variant variant() {
+        return variant;
+    }
+
+    /**
+     * @return The Zobrist hash, as {@link Board#hash()}.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Position position
+                && white == position.white && black == position.black && kings == position.kings
+                && whiteToMove == position.whiteToMove && inCaptureSequence == position.inCaptureSequence
+                && variant.equals(position.variant);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash) * 31 + (inCaptureSequence ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return Fen.format(toBoard()) + (inCaptureSequence ? " (capturing)" : "");
+    }
+}
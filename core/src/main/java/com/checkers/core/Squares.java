@@ -0,0 +1,109 @@
+package com.checkers.core;
+
+/**
+ * Maps between board coordinates and the 32 playable (dark) squares used by the
+ * packed board model. Square {@code n} is bit {@code n} of every bitboard; squares
+ * are numbered row by row from the top-left, four per row.
+ */
+public final class Squares {
+
+    public static final int BOARD_SIZE = 8;
+    public static final int COUNT = 32;
+    public static final int NONE = -1;
+
+    /**
+     * Diagonal directions: up-left, up-right, down-left, down-right. White men
+     * move up (towards row 0), black men move down.
+     */
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int DOWN_LEFT = 2;
+    public static final int DOWN_RIGHT = 3;
+    public static final int DIRECTIONS = 4;
+
+    private static final int[] ROW_STEP = {-1, -1, 1, 1};
+    private static final int[] COL_STEP = {-1, 1, -1, 1};
+
+    /** Adjacent square in each direction, indexed {@code square * 4 + direction}. */
+    static final int[] NEIGHBOUR = new int[COUNT * DIRECTIONS];
+    /** Landing square of a short jump in each direction, indexed like {@link #NEIGHBOUR}. */
+    static final int[] JUMP = new int[COUNT * DIRECTIONS];
+    /** Every square along each diagonal, nearest first, indexed like {@link #NEIGHBOUR}. */
+    static final int[][] RAY = new int[COUNT * DIRECTIONS][];
+
+    static {
+        for (int square = 0; square < COUNT; square++) {
+            int row = row(square);
+            int col = col(square);
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                int index = square * DIRECTIONS + dir;
+                NEIGHBOUR[index] = of(row + ROW_STEP[dir], col + COL_STEP[dir]);
+                JUMP[index] = NEIGHBOUR[index] == NONE ? NONE : of(row + 2 * ROW_STEP[dir], col + 2 * COL_STEP[dir]);
+
+                int length = 0;
+                while (of(row + (length + 1) * ROW_STEP[dir], col + (length + 1) * COL_STEP[dir]) != NONE) {
+                    length++;
+                }
+                int[] ray = new int[length];
+                for (int step = 1; step <= length; step++) {
+                    ray[step - 1] = of(row + step * ROW_STEP[dir], col + step * COL_STEP[dir]);
+                }
+                RAY[index] = ray;
+            }
+        }
+    }
+
+    private Squares() {
+    }
+
+    /**
+     * @param row The board row, 0 being the top (black) side.
+     * @param col The board column.
+     * @return The square index, or {@link #NONE} for light or off-board fields.
+     */
+    public static int of(int row, int col) {
+        if (row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE || (row + col) % 2 == 0) {
+            return NONE;
+        }
+        return row * 4 + col / 2;
+    }
+
+    public static int row(int square) {
+        return square >>> 2;
+    }
+
+    public static int col(int square) {
+        int row = square >>> 2;
+        return ((square & 3) << 1) + ((row & 1) == 0 ? 1 : 0);
+    }
+
+    public static int bit(int square) {
+        return 1 << square;
+    }
+
+    public static int neighbour(int square, int direction) {
+        return NEIGHBOUR[square * DIRECTIONS + direction];
+    }
+
+    public static int jump(int square, int direction) {
+        return JUMP[square * DIRECTIONS + direction];
+    }
+
+    /**
+     * @return The squares along the diagonal, nearest first. The array is shared and must not be modified.
+     */
+    public static int[] ray(int square, int direction) {
+        return RAY[square * DIRECTIONS + direction];
+    }
+
+    /**
+     * @return The 1-based square number used by draughts notation.
+     */
+    public static int toNotation(int square) {
+        return square + 1;
+    }
+
+    public static int fromNotation(int number) {
+        return number - 1;
+    }
+}
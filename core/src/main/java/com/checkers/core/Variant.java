@@ -0,0 +1,87 @@
+package com.checkers.core;
+
+import java.util.List;
+
+/**
+ * A rule set: the board size and the rules that differ between the common draughts
+ * variants. Positions on the 8x8 board use {@link Board} and {@link MoveGenerator},
+ * which read the rule flags from the board's variant; larger boards use
+ * {@link VariantBoard} and {@link VariantMoveGenerator}.
+ *
+ * @param name                The name used on the command line.
+ * @param boardSize           The number of rows and columns; even, at most 10.
+ * @param manRows             The number of rows each side fills with men at the start.
+ * @param menCaptureBackwards Whether men may capture backwards. A man that reaches the
+ *                            far row mid-capture then carries on as a man and is only
+ *                            crowned if the capture ends there.
+ * @param flyingKings         Whether kings move and capture along whole diagonals
+ *                            rather than one square at a time.
+ * @param majorityCapture     Whether a capture must take as many pieces as possible.
+ */
+public record Variant(String name, int boardSize, int manRows, boolean menCaptureBackwards,
+                      boolean flyingKings, boolean majorityCapture) {
+
+    /** The rules this project has always played: English checkers with flying kings. */
+    public static final Variant STANDARD = new Variant("standard", 8, 3, false, true, false);
+    /** English checkers (straight checkers): short kings, men capture forwards only. */
+    public static final Variant ENGLISH = new Variant("english", 8, 3, false, false, false);
+    /** Brazilian draughts: the international rules on the 8x8 board. */
+    public static final Variant BRAZILIAN = new Variant("brazilian", 8, 3, true, true, true);
+    /** International draughts on the 10x10 board. */
+    public static final Variant INTERNATIONAL = new Variant("international", 10, 4, true, true, true);
+
+    private static final List<Variant> ALL = List.of(STANDARD, ENGLISH, BRAZILIAN, INTERNATIONAL);
+
+    public Variant {
+        if (boardSize < 4 || boardSize > 10 || boardSize % 2 != 0) {
+            throw new IllegalArgumentException("Unsupported board size: " + boardSize);
+        }
+        if (manRows < 1 || 2 * manRows >= boardSize) {
+            throw new IllegalArgumentException("Unsupported number of man rows: " + manRows);
+        }
+    }
+
+    /**
+     * @param name A variant name, case-insensitive.
+     * @return The named variant.
+     * @throws IllegalArgumentException If no variant has that name.
+     */
+    public static Variant parse(String name) {
+        for (Variant variant : ALL) {
+            if (variant.name.equalsIgnoreCase(name)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown variant: " + name + " (expected one of " + names() + ")");
+    }
+
+    /**
+     * @return Every built-in variant.
+     */
+    public static List<Variant> all() {
+        return ALL;
+    }
+
+    private static String names() {
+        return String.join(", ", ALL.stream().map(Variant::name).toList());
+    }
+
+    /**
+     * @return The number of playable squares.
+     */
+    public int squareCount() {
+        return boardSize * boardSize / 2;
+    }
+
+    /**
+     * @return Whether positions of this variant fit the 32-square {@link Board}.
+     */
+    public boolean isCompact() {
+        return boardSize == Squares.BOARD_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
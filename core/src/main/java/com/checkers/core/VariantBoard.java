@@ -0,0 +1,227 @@
+package com.checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * A position of any {@link Variant}, packed into three 64-bit bitboards so boards up
+ * to 10x10 fit. It mirrors {@link Board} but keeps no hash; the 8x8 variants are
+ * better served by {@link Board}, which this class exists to complement, not replace.
+ *
+ * <p>Moves are encoded by {@link VariantMove} and generated by
+ * {@link VariantMoveGenerator}.
+ */
+public final class VariantBoard {
+
+    private static final int INITIAL_HISTORY = 256;
+
+    private final Variant variant;
+    final Geometry geometry;
+    private long white;
+    private long black;
+    private long kings;
+    private boolean whiteToMove = true;
+
+    private long[] undoMoves = new long[INITIAL_HISTORY];
+    private long[] undoCapturedKings = new long[INITIAL_HISTORY];
+    private int historySize;
+
+    /**
+     * @param variant The rules; the board starts empty with white to move.
+     */
+    public VariantBoard(Variant variant) {
+        this.variant = variant;
+        this.geometry = Geometry.of(variant.boardSize());
+    }
+
+    /**
+     * @return The variant's start position, white to move.
+     */
+    public static VariantBoard initial(Variant variant) {
+        VariantBoard board = new VariantBoard(variant);
+        int men = variant.manRows() * variant.boardSize() / 2;
+        board.black = (1L << men) - 1;
+        board.white = board.geometry.squares & ~((1L << (board.geometry.count - men)) - 1);
+        return board;
+    }
+
+    /**
+     * @param board An 8x8 position.
+     * @return The same position under the board's variant, without its history.
+     */
+    public static VariantBoard of(Board board) {
+        VariantBoard copy = new VariantBoard(board.variant());
+        copy.white = Integer.toUnsignedLong(board.whitePieces());
+        copy.black = Integer.toUnsignedLong(board.blackPieces());
+        copy.kings = Integer.toUnsignedLong(board.kings());
+        copy.whiteToMove = board.isWhiteToMove();
+        return copy;
+    }
+
+    /**
+     * Overwrites this board with the position of {@code other}, which must be of the
+     * same variant. The undo history is cleared, not copied.
+     */
+    public void copyFrom(VariantBoard other) {
+        if (other.variant != variant) {
+            throw new IllegalArgumentException("Cannot copy a " + other.variant + " position to a " + variant + " board");
+        }
+        this.white = other.white;
+        this.black = other.black;
+        this.kings = other.kings;
+        this.whiteToMove = other.whiteToMove;
+        this.historySize = 0;
+    }
+
+    public Variant variant() {
+        return variant;
+    }
+
+    public boolean isOccupied(int square) {
+        return ((white | black) >>> square & 1) != 0;
+    }
+
+    public boolean isWhite(int square) {
+        return (white >>> square & 1) != 0;
+    }
+
+    public boolean isBlack(int square) {
+        return (black >>> square & 1) != 0;
+    }
+
+    public boolean isKing(int square) {
+        return (kings >>> square & 1) != 0;
+    }
+
+    /**
+     * @param square  The square to fill; must be empty.
+     * @param isWhite Whether the piece belongs to white.
+     * @param isKing  Whether the piece is a king.
+     */
+    public void place(int square, boolean isWhite, boolean isKing) {
+        long bit = 1L << square;
+        if (isWhite) {
+            white |= bit;
+        } else {
+            black |= bit;
+        }
+        if (isKing) {
+            kings |= bit;
+        }
+    }
+
+    /**
+     * Plays a move produced by {@link VariantMoveGenerator}: moves the piece, removes
+     * the captured pieces, applies promotion and passes the turn.
+     */
+    public void makeMove(long move) {
+        long fromBit = 1L << VariantMove.from(move);
+        long toBit = 1L << VariantMove.to(move);
+        long captured = VariantMove.captured(move);
+        if ((white & fromBit) != 0) {
+            white = (white & ~fromBit) | toBit;
+            black &= ~captured;
+        } else {
+            black = (black & ~fromBit) | toBit;
+            white &= ~captured;
+        }
+        if ((kings & fromBit) != 0 || VariantMove.isPromotion(move)) {
+            kings = (kings & ~fromBit) | toBit;
+        }
+        kings &= ~captured;
+        whiteToMove = !whiteToMove;
+    }
+
+    /**
+     * Plays a move and records what is needed to take it back.
+     */
+    public void make(long move) {
+        if (historySize == undoMoves.length) {
+            int capacity = historySize * 2;
+            undoMoves = Arrays.copyOf(undoMoves, capacity);
+            undoCapturedKings = Arrays.copyOf(undoCapturedKings, capacity);
+        }
+        undoMoves[historySize] = move;
+        undoCapturedKings[historySize] = VariantMove.captured(move) & kings;
+        historySize++;
+        makeMove(move);
+    }
+
+    /**
+     * Takes back the last move played with {@link #make(long)}.
+     */
+    public void unmake() {
+        historySize--;
+        long move = undoMoves[historySize];
+        long fromBit = 1L << VariantMove.from(move);
+        long toBit = 1L << VariantMove.to(move);
+        long captured = VariantMove.captured(move);
+        boolean wasKing = (kings & toBit) != 0 && !VariantMove.isPromotion(move);
+
+        if ((white & toBit) != 0) {
+            white = (white & ~toBit) | fromBit;
+            black |= captured;
+        } else {
+            black = (black & ~toBit) | fromBit;
+            white |= captured;
+        }
+        kings &= ~toBit;
+        if (wasKing) {
+            kings |= fromBit;
+        }
+        kings |= undoCapturedKings[historySize];
+        whiteToMove = !whiteToMove;
+    }
+
+    public int historySize() {
+        return historySize;
+    }
+
+    public long whitePieces() {
+        return white;
+    }
+
+    public long blackPieces() {
+        return black;
+    }
+
+    public long kings() {
+        return kings;
+    }
+
+    public long empty() {
+        return geometry.squares & ~(white | black);
+    }
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public void setWhiteToMove(boolean whiteToMove) {
+        this.whiteToMove = whiteToMove;
+    }
+
+    public int whiteCount() {
+        return Long.bitCount(white);
+    }
+
+    public int blackCount() {
+        return Long.bitCount(black);
+    }
+
+    /**
+     * @param row The board row, 0 being the top (black) side.
+     * @param col The board column.
+     * @return The square index, or {@link Squares#NONE} for light or off-board fields.
+     */
+    public int square(int row, int col) {
+        return geometry.of(row, col);
+    }
+
+    public int row(int square) {
+        return geometry.row(square);
+    }
+
+    public int col(int square) {
+        return geometry.col(square);
+    }
+}
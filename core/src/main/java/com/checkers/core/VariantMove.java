@@ -0,0 +1,53 @@
+package com.checkers.core;
+
+/**
+ * Static helpers for the move encoding of {@link VariantBoard}, which needs wider
+ * fields than {@link Move}: bits 0-5 hold the origin square, bits 6-11 the
+ * destination, bit 12 flags a promotion and bits 13-63 are the bitboard of captured
+ * pieces, enough for the 50 squares of the 10x10 board.
+ */
+public final class VariantMove {
+
+    public static final long NONE = 0L;
+    private static final long PROMOTION = 1L << 12;
+    private static final int CAPTURED_SHIFT = 13;
+
+    private VariantMove() {
+    }
+
+    public static long of(int from, int to, long captured, boolean promotion) {
+        long move = from | (to << 6) | (captured << CAPTURED_SHIFT);
+        return promotion ? move | PROMOTION : move;
+    }
+
+    public static int from(long move) {
+        return (int) move & 63;
+    }
+
+    public static int to(long move) {
+        return (int) (move >>> 6) & 63;
+    }
+
+    public static long captured(long move) {
+        return move >>> CAPTURED_SHIFT;
+    }
+
+    public static boolean isCapture(long move) {
+        return captured(move) != 0;
+    }
+
+    public static boolean isPromotion(long move) {
+        return (move & PROMOTION) != 0;
+    }
+
+    public static int captureCount(long move) {
+        return Long.bitCount(captured(move));
+    }
+
+    /**
+     * @return The move in draughts notation, e.g. {@code 32-28} or {@code 28x19}.
+     */
+    public static String toString(long move) {
+        return (from(move) + 1) + (isCapture(move) ? "x" : "-") + (to(move) + 1);
+    }
+}
@@ -0,0 +1,180 @@
+package com.checkers.core;
+
+/**
+ * Generates every legal move of a {@link VariantBoard} under its variant's rules.
+ * The rules are those of {@link MoveGenerator}, switched by the variant's flags;
+ * this generator only differs in reading its square tables from the board's
+ * geometry and in using 64-bit bitboards, which is what lets it serve the 10x10
+ * board. On 8x8 it must agree with {@link MoveGenerator}, and perft checks that.
+ */
+public final class VariantMoveGenerator {
+
+    private VariantMoveGenerator() {
+    }
+
+    /**
+     * @param board The position to generate moves for.
+     * @param moves The buffer to fill with {@link VariantMove} encoded moves; it is cleared first.
+     * @return The number of legal moves.
+     */
+    public static int generate(VariantBoard board, MoveList moves) {
+        moves.clear();
+        generateCaptures(board, moves);
+        if (moves.isEmpty()) {
+            generateQuietMoves(board, moves);
+        }
+        return moves.size();
+    }
+
+    /**
+     * Fills {@code moves} with every complete capture chain for the side to move,
+     * only the longest ones under the majority-capture rule.
+     */
+    public static void generateCaptures(VariantBoard board, MoveList moves) {
+        Variant variant = board.variant();
+        Geometry geometry = board.geometry;
+        boolean white = board.isWhiteToMove();
+        long own = white ? board.whitePieces() : board.blackPieces();
+        long opponents = white ? board.blackPieces() : board.whitePieces();
+        long empty = board.empty();
+        int firstDir = variant.menCaptureBackwards() ? 0 : white ? Squares.UP_LEFT : Squares.DOWN_LEFT;
+        int lastDir = variant.menCaptureBackwards() ? Squares.DIRECTIONS : firstDir + 2;
+        int promotionRow = white ? 0 : geometry.size - 1;
+        Chain chain = new Chain(geometry, opponents, moves);
+
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            chain.from = from;
+            chain.empty = empty | 1L << from;
+            if (!board.isKing(from)) {
+                chain.manCaptures(from, 0, firstDir, lastDir, promotionRow);
+            } else if (variant.flyingKings()) {
+                chain.kingCaptures(from, 0);
+            } else {
+                chain.manCaptures(from, 0, 0, Squares.DIRECTIONS, Squares.NONE);
+            }
+        }
+        if (variant.majorityCapture()) {
+            keepLongestCaptures(moves);
+        }
+    }
+
+    private static void generateQuietMoves(VariantBoard board, MoveList moves) {
+        Geometry geometry = board.geometry;
+        boolean white = board.isWhiteToMove();
+        boolean flyingKings = board.variant().flyingKings();
+        long own = white ? board.whitePieces() : board.blackPieces();
+        long empty = board.empty();
+        int firstDir = white ? Squares.UP_LEFT : Squares.DOWN_LEFT;
+        int promotionRow = white ? 0 : geometry.size - 1;
+
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            if (board.isKing(from)) {
+                for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+                    int[] ray = geometry.ray[from * Squares.DIRECTIONS + dir];
+                    int reach = flyingKings ? ray.length : Math.min(1, ray.length);
+                    for (int i = 0; i < reach && (empty >>> ray[i] & 1) != 0; i++) {
+                        moves.add(VariantMove.of(from, ray[i], 0, false));
+                    }
+                }
+            } else {
+                for (int dir = firstDir; dir < firstDir + 2; dir++) {
+                    int to = geometry.neighbour[from * Squares.DIRECTIONS + dir];
+                    if (to != Squares.NONE && (empty >>> to & 1) != 0) {
+                        moves.add(VariantMove.of(from, to, 0, geometry.row(to) == promotionRow));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void keepLongestCaptures(MoveList moves) {
+        int most = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            most = Math.max(most, VariantMove.captureCount(moves.get(i)));
+        }
+        int kept = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (VariantMove.captureCount(move) == most) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    /**
+     * The state shared by the recursive search for one piece's capture chains.
+     */
+    private static final class Chain {
+        final Geometry geometry;
+        final long opponents;
+        final MoveList moves;
+        int from;
+        long empty;
+
+        Chain(Geometry geometry, long opponents, MoveList moves) {
+            this.geometry = geometry;
+            this.opponents = opponents;
+            this.moves = moves;
+        }
+
+        /**
+         * Short jumps in directions {@code firstDir} up to {@code lastDir}. Crowning
+         * happens only if the chain ends on {@code promotionRow}; men that capture
+         * forwards only cannot jump on from there anyway.
+         */
+        void manCaptures(int square, long captured, int firstDir, int lastDir, int promotionRow) {
+            boolean extended = false;
+            for (int dir = firstDir; dir < lastDir; dir++) {
+                int index = square * Squares.DIRECTIONS + dir;
+                int over = geometry.neighbour[index];
+                int to = geometry.jump[index];
+                if (to == Squares.NONE || (opponents >>> over & 1) == 0 || (captured >>> over & 1) != 0
+                        || (empty >>> to & 1) == 0) {
+                    continue;
+                }
+                extended = true;
+                manCaptures(to, captured | 1L << over, firstDir, lastDir, promotionRow);
+            }
+            if (!extended && captured != 0) {
+                add(VariantMove.of(from, square, captured, geometry.row(square) == promotionRow));
+            }
+        }
+
+        void kingCaptures(int square, long captured) {
+            boolean extended = false;
+            for (int dir = 0; dir < Squares.DIRECTIONS; dir++) {
+                int[] ray = geometry.ray[square * Squares.DIRECTIONS + dir];
+                int i = 0;
+                while (i < ray.length && (empty >>> ray[i] & 1) != 0) {
+                    i++;
+                }
+                if (i == ray.length) {
+                    continue;
+                }
+                int over = ray[i];
+                if ((opponents >>> over & 1) == 0 || (captured >>> over & 1) != 0) {
+                    continue;
+                }
+                long nowCaptured = captured | 1L << over;
+                for (int k = i + 1; k < ray.length && (empty >>> ray[k] & 1) != 0; k++) {
+                    extended = true;
+                    kingCaptures(ray[k], nowCaptured);
+                }
+            }
+            if (!extended && captured != 0) {
+                add(VariantMove.of(from, square, captured, false));
+            }
+        }
+
+        private void add(long move) {
+            if (VariantMove.captureCount(move) > 1) {
+                moves.addUnique(move);
+            } else {
+                moves.add(move);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.checkers.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for identifying positions. A position's hash is the XOR of one
+ * key per piece (by colour, rank and square) and {@link #BLACK_TO_MOVE} when black
+ * is to move. {@link Board} keeps its hash up to date incrementally on every
+ * change; {@link #hash(Board)} recomputes it from scratch.
+ */
+public final class Zobrist {
+
+    public static final int WHITE_MAN = 0;
+    public static final int WHITE_KING = 1;
+    public static final int BLACK_MAN = 2;
+    public static final int BLACK_KING = 3;
+
+    static final long[] PIECE_KEYS = new long[4 * Squares.COUNT];
+    static final long BLACK_TO_MOVE;
+
+    static {
+        // A fixed seed keeps hashes stable across runs, so they can be stored in files.
+        SplittableRandom random = new SplittableRandom(0x5EED_C0FFEEL);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long key(int pieceType, int square) {
+        return PIECE_KEYS[pieceType * Squares.COUNT + square];
+    }
+
+    public static long hash(Board board) {
+        long hash = board.isWhiteToMove() ? 0L : BLACK_TO_MOVE;
+        for (int square = 0; square < Squares.COUNT; square++) {
+            if (board.isOccupied(square)) {
+                hash ^= key(pieceType(board.isWhite(square), board.isKing(square)), square);
+            }
+        }
+        return hash;
+    }
+
+    public static int pieceType(boolean isWhite, boolean isKing) {
+        return (isWhite ? WHITE_MAN : BLACK_MAN) + (isKing ? 1 : 0);
+    }
+}
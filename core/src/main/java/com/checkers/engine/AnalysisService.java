@@ -0,0 +1,109 @@
+package com.checkers.engine;
+
+import com.checkers.core.Board;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Analyses one position at a time in the background, deepening until told to
+ * stop, and reports every completed iteration. Each call to {@link #analyze(Board)}
+ * or {@link #cancel()} starts a new generation: the running search is stopped at
+ * once and anything it still reports is dropped, so a listener never sees results
+ * for a position that is no longer current.
+ */
+public class AnalysisService implements AutoCloseable {
+
+    /**
+     * One completed iteration.
+     *
+     * @param generation  The {@link #analyze(Board)} call it belongs to.
+     * @param whiteToMove Whether white is to move in the analysed position.
+     * @param result      The best move and score, from the side to move's point of view.
+     * @param line        The expected line of play.
+     */
+    public record Update(long generation, boolean whiteToMove, SearchResult result, long[] line) {
+    }
+
+    private static final long UNLIMITED_MILLIS = Long.MAX_VALUE;
+
+    private final ParallelSearch search;
+    private final ExecutorService runner;
+    private final Consumer<Update> listener;
+    private final AtomicLong generation = new AtomicLong();
+    private AtomicBoolean stopSignal = new AtomicBoolean();
+
+    /**
+     * @param threads        The number of search threads.
+     * @param tableMegabytes The size of the transposition table.
+     * @param listener       Receives updates on a search thread; it must return quickly.
+     */
+    public AnalysisService(int threads, int tableMegabytes, Consumer<Update> listener) {
+        this.search = new ParallelSearch(threads, tableMegabytes);
+        this.listener = listener;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops analysing the previous position and starts on this one.
+     *
+     * @param board The position; a copy is taken before this method returns.
+     * @return The generation that updates for this position carry.
+     */
+    public synchronized long analyze(Board board) {
+        long current = cancel();
+        Board copy = new Board(board);
+        AtomicBoolean stop = stopSignal;
+        boolean whiteToMove = copy.isWhiteToMove();
+        runner.execute(() -> {
+            if (stop.get()) {
+                return;
+            }
+            search.setListener((result, line) -> {
+                if (!stop.get()) {
+                    listener.accept(new Update(current, whiteToMove, result, line));
+                }
+            });
+            SearchResult result = search.search(copy, SearchEngine.MAX_PLY, UNLIMITED_MILLIS, stop);
+            // Without a choice of moves no iteration runs, so report the outcome directly.
+            if (result.depth() == 0 && !stop.get()) {
+                long[] line = result.hasMove() ? new long[]{result.bestMove()} : new long[0];
+                listener.accept(new Update(current, whiteToMove, result, line));
+            }
+        });
+        return current;
+    }
+
+    /**
+     * Stops the running analysis without starting another.
+     *
+     * @return The new generation.
+     */
+    public synchronized long cancel() {
+        stopSignal.set(true);
+        stopSignal = new AtomicBoolean();
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * @return The generation of the latest {@link #analyze(Board)} or {@link #cancel()};
+     * updates from older generations are stale.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        runner.shutdownNow();
+        search.close();
+    }
+}
@@ -0,0 +1,250 @@
+package com.checkers.engine;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.Move;
+import com.checkers.core.Variant;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores a stream of positions without the UI. Each input line is a position in
+ * draughts FEN; blank lines and lines starting with {@code #} are skipped. Positions
+ * are searched on a work-stealing pool, one single-threaded {@link SearchEngine} per
+ * worker, and results are written in input order. At most {@code buffer} positions
+ * are read ahead of the last one written, so memory use does not grow with the input.
+ *
+ * <p>Each output line is the FEN, the best move, the score from white's point of view,
+ * the completed depth and the nodes searched, separated by tabs; a line that is not
+ * valid FEN gets {@code ERR} and the reason instead. Every worker clears its small
+ * transposition table before each position, so results do not depend on the thread
+ * count or on which positions came before.
+ *
+ * <p>Run with {@code java com.checkers.engine.BulkAnalysis [--depth=8] [--nodes=N] [--threads=N]
+ * [--hash=1] [--buffer=4096] [--variant=standard] [--out=results.tsv] [file]}; without a file
+ * it reads standard input. Progress and the final positions per second go to standard error.
+ */
+public class BulkAnalysis {
+
+    /**
+     * @param positions    The positions read.
+     * @param invalid      The lines that were not valid FEN.
+     * @param nodes        The nodes searched across all positions.
+     * @param elapsedNanos The wall-clock time of the run.
+     */
+    public record Summary(long positions, long invalid, long nodes, long elapsedNanos) {
+
+        public double positionsPerSecond() {
+            return elapsedNanos > 0 ? positions * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d positions (%,d invalid), %,d nodes in %.2f s: %,.0f positions/s",
+                    positions, invalid, nodes, elapsedNanos / 1e9, positionsPerSecond());
+        }
+    }
+
+    private static final long REPORT_NANOS = 10_000_000_000L;
+    private static final CompletableFuture<String> END = CompletableFuture.completedFuture(null);
+
+    private final int threads;
+    private final int depth;
+    private final long nodeLimit;
+    private final int tableMegabytes;
+    private final int buffer;
+    private final Variant variant;
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+
+    /**
+     * @param threads        The number of positions searched at once.
+     * @param depth          The deepest iteration to search each position to.
+     * @param nodeLimit      The nodes after which a search stops, or {@link Long#MAX_VALUE}.
+     * @param tableMegabytes The transposition table size of each worker.
+     * @param buffer         The most positions read but not yet written.
+     * @param variant        The rules to search under; must be an 8x8 variant.
+     */
+    public BulkAnalysis(int threads, int depth, long nodeLimit, int tableMegabytes, int buffer, Variant variant) {
+        this.threads = threads;
+        this.depth = depth;
+        this.nodeLimit = nodeLimit;
+        this.tableMegabytes = tableMegabytes;
+        this.buffer = buffer;
+        this.variant = variant;
+    }
+
+    /**
+     * Reads positions on the calling thread and writes results on another, each
+     * waiting on the other through a bounded queue of pending results.
+     */
+    public Summary run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        invalid.reset();
+        nodes.reset();
+        long start = System.nanoTime();
+        BlockingQueue<CompletableFuture<String>> pending = new ArrayBlockingQueue<>(buffer);
+        ResultWriter writer = new ResultWriter(pending, out, start);
+        Thread writerThread = new Thread(writer, "bulk-analysis-writer");
+        writerThread.start();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ThreadLocal<SearchEngine> engines = ThreadLocal.withInitial(() -> {
+            SearchEngine engine = new SearchEngine(new TranspositionTable(tableMegabytes));
+            // Forced captures are common; they need a real score, not the instant reply.
+            engine.setSearchForcedMoves(true);
+            return engine;
+        });
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String fen = line.trim();
+                if (fen.isEmpty() || fen.startsWith("#")) {
+                    continue;
+                }
+                pending.put(CompletableFuture.supplyAsync(() -> analyze(fen, engines.get()), pool));
+            }
+        } finally {
+            pending.put(END);
+            writerThread.join();
+            pool.shutdownNow();
+        }
+        if (writer.error != null) {
+            throw writer.error;
+        }
+        out.flush();
+        return new Summary(writer.written, invalid.sum(), nodes.sum(), System.nanoTime() - start);
+    }
+
+    private String analyze(String fen, SearchEngine engine) {
+        Board board;
+        try {
+            board = Fen.parse(fen);
+            board.setVariant(variant);
+        } catch (IllegalArgumentException e) {
+            invalid.increment();
+            return fen + "\tERR " + e.getMessage();
+        }
+        engine.setNodeLimit(nodeLimit);
+        engine.getTranspositionTable().clear();
+        SearchResult result = engine.search(board, depth, Long.MAX_VALUE);
+        nodes.add(result.nodes());
+        int score = board.isWhiteToMove() ? result.score() : -result.score();
+        return fen + '\t' + (result.hasMove() ? Move.toString(result.bestMove()) : "none") + '\t' + score
+                + '\t' + result.depth() + '\t' + result.nodes();
+    }
+
+    /**
+     * Writes results in the order their positions were read, waiting for each in turn.
+     * After a write error it keeps draining the queue so the reader is never stuck.
+     */
+    private static final class ResultWriter implements Runnable {
+
+        private final BlockingQueue<CompletableFuture<String>> pending;
+        private final Writer out;
+        private final long startNanos;
+        private long written;
+        private IOException error;
+
+        ResultWriter(BlockingQueue<CompletableFuture<String>> pending, Writer out, long startNanos) {
+            this.pending = pending;
+            this.out = out;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void run() {
+            long nextReport = startNanos + REPORT_NANOS;
+            try {
+                CompletableFuture<String> result;
+                while ((result = pending.take()) != END) {
+                    String line = result.join();
+                    written++;
+                    if (error == null) {
+                        try {
+                            out.write(line);
+                            out.write('\n');
+                        } catch (IOException e) {
+                            error = e;
+                        }
+                    }
+                    long now = System.nanoTime();
+                    if (now >= nextReport) {
+                        nextReport = now + REPORT_NANOS;
+                        System.err.printf("%,d positions, %,.0f positions/s%n", written,
+                                written * 1_000_000_000.0 / (now - startNanos));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int depth = 8;
+        boolean depthGiven = false;
+        long nodeLimit = Long.MAX_VALUE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int tableMegabytes = 1;
+        int buffer = 4096;
+        Variant variant = Variant.STANDARD;
+        Path outPath = null;
+        Path inPath = null;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--depth=")) {
+                depth = Integer.parseInt(value);
+                depthGiven = true;
+            } else if (arg.startsWith("--nodes=")) {
+                nodeLimit = Long.parseLong(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--hash=")) {
+                tableMegabytes = Integer.parseInt(value);
+            } else if (arg.startsWith("--buffer=")) {
+                buffer = Integer.parseInt(value);
+            } else if (arg.startsWith("--variant=")) {
+                variant = Variant.parse(value);
+            } else if (arg.startsWith("--out=")) {
+                outPath = Path.of(value);
+            } else if (!arg.startsWith("--") && inPath == null) {
+                inPath = Path.of(arg);
+            } else {
+                System.err.println("Usage: BulkAnalysis [--depth=8] [--nodes=N] [--threads=N] [--hash=1] "
+                        + "[--buffer=4096] [--variant=standard] [--out=results.tsv] [file]");
+                System.exit(2);
+            }
+        }
+        if (!variant.isCompact()) {
+            System.err.println("BulkAnalysis searches 8x8 variants only, not " + variant.name());
+            System.exit(2);
+        }
+        // With only a node budget, search as deep as the budget allows.
+        if (nodeLimit != Long.MAX_VALUE && !depthGiven) {
+            depth = SearchEngine.MAX_PLY;
+        }
+
+        BulkAnalysis analysis = new BulkAnalysis(threads, depth, nodeLimit, tableMegabytes, buffer, variant);
+        Summary summary;
+        try (BufferedReader in = inPath != null ? Files.newBufferedReader(inPath, StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+             Writer out = outPath != null ? Files.newBufferedWriter(outPath, StandardCharsets.UTF_8)
+                     : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            summary = analysis.run(in, out);
+        }
+        System.err.println(threads + " threads: " + summary);
+    }
+}
@@ -0,0 +1,91 @@
+package com.checkers.engine;
+
+import com.checkers.book.OpeningBook;
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.metrics.Counter;
+import com.checkers.metrics.Histogram;
+import com.checkers.metrics.Metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A computer opponent playing one colour with a fixed time budget per move. Moves
+ * are searched on background threads, so the caller is never blocked.
+ */
+public class ComputerPlayer implements AutoCloseable {
+
+    private static final int TABLE_MEGABYTES = 64;
+    private static final Counter BOOK_MOVES = Metrics.counter("computer.bookMoves");
+    private static final Counter SEARCHED_MOVES = Metrics.counter("computer.searchedMoves");
+    private static final Histogram DEPTH = Metrics.histogram("computer.depth");
+
+    private final ParallelSearch search;
+    private final boolean playsWhite;
+    private final long moveTimeMillis;
+    private volatile OpeningBook openingBook;
+
+    /**
+     * @param playsWhite     Whether the computer plays the white pieces.
+     * @param moveTimeMillis Hard limit on thinking time per move.
+     * @param threads        The number of search threads.
+     */
+    public ComputerPlayer(boolean playsWhite, long moveTimeMillis, int threads) {
+        this.search = new ParallelSearch(threads, TABLE_MEGABYTES);
+        this.playsWhite = playsWhite;
+        this.moveTimeMillis = moveTimeMillis;
+    }
+
+    public boolean isToMove(Board board) {
+        return board.isWhiteToMove() == playsWhite;
+    }
+
+    /**
+     * Lets the computer play straight from the book, without searching, while the
+     * position is in it.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Changes how the computer judges positions; call before the first move.
+     */
+    public void setWeights(EvalWeights weights) {
+        search.setWeights(weights);
+    }
+
+    /**
+     * @param board The current position; it is copied, so the caller may keep changing it.
+     * @return The search result, completed on a search thread, or at once for a book move.
+     */
+    public CompletableFuture<SearchResult> chooseMove(Board board) {
+        OpeningBook book = openingBook;
+        if (book != null) {
+            long move = book.choose(board, ThreadLocalRandom.current());
+            if (move != Move.NONE) {
+                BOOK_MOVES.increment();
+                return CompletableFuture.completedFuture(new SearchResult(move, 0, 0, 0, 0));
+            }
+        }
+        return search.bestMove(board, moveTimeMillis).thenApply(result -> {
+            SEARCHED_MOVES.increment();
+            DEPTH.record(result.depth());
+            return result;
+        });
+    }
+
+    public boolean playsWhite() {
+        return playsWhite;
+    }
+
+    public long getMoveTimeMillis() {
+        return moveTimeMillis;
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
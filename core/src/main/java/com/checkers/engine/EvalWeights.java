@@ -0,0 +1,87 @@
+package com.checkers.engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The weights of the {@link Evaluator} terms, in centipawn-like units. A weights
+ * file holds one {@code name=value} line per term, e.g. {@code king=300}; blank
+ * lines and lines starting with {@code #} are ignored and missing terms keep their
+ * default.
+ *
+ * @param man         The value of a man.
+ * @param king        The value of a king.
+ * @param advancement Per row a man has advanced from its own back row.
+ * @param backRank    Per man still guarding its own back row.
+ * @param mobility    Per empty square a piece could step to.
+ * @param tempo       For having the move.
+ */
+public record EvalWeights(int man, int king, int advancement, int backRank, int mobility, int tempo) {
+
+    /** The term names, in the order of {@link #toArray()} and the evaluator's features. */
+    public static final List<String> NAMES = List.of("man", "king", "advancement", "backRank", "mobility", "tempo");
+
+    /** Hand-set weights; the terms added after the first evaluator stay off until tuned. */
+    public static final EvalWeights DEFAULT = new EvalWeights(100, 300, 3, 0, 0, 0);
+
+    /**
+     * @param values The weights in the order of {@link #NAMES}.
+     */
+    public static EvalWeights of(int[] values) {
+        if (values.length != NAMES.size()) {
+            throw new IllegalArgumentException("Expected " + NAMES.size() + " weights, got " + values.length);
+        }
+        return new EvalWeights(values[0], values[1], values[2], values[3], values[4], values[5]);
+    }
+
+    /**
+     * @return The weights in the order of {@link #NAMES}.
+     */
+    public int[] toArray() {
+        return new int[]{man, king, advancement, backRank, mobility, tempo};
+    }
+
+    /**
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If a line is not a known {@code name=value} pair.
+     */
+    public static EvalWeights load(Path file) throws IOException {
+        int[] values = DEFAULT.toArray();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] pair = line.split("=", 2);
+            int index = pair.length == 2 ? NAMES.indexOf(pair[0].strip()) : -1;
+            if (index < 0) {
+                throw new IllegalArgumentException("Expected name=value with a known term in " + file + ": " + line);
+            }
+            values[index] = Integer.parseInt(pair[1].strip());
+        }
+        return of(values);
+    }
+
+    public void save(Path file) throws IOException {
+        int[] values = toArray();
+        List<String> lines = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            lines.add(NAMES.get(i) + "=" + values[i]);
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        int[] values = toArray();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            text.append(i == 0 ? "" : ", ").append(NAMES.get(i)).append('=').append(values[i]);
+        }
+        return text.toString();
+    }
+}
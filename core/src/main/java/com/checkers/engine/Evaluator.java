@@ -0,0 +1,158 @@
+package com.checkers.engine;
+
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.core.Squares;
+
+/**
+ * Static evaluation of a position, in centipawn-like units from the point of view
+ * of the side to move, as a weighted sum of the terms in {@link EvalWeights}.
+ *
+ * <p>Material, king value, advancement and back rank depend only on which piece
+ * stands on which square, so they are folded into one table of square values.
+ * Their sum, the piece-square score, is kept up to date move by move with
+ * {@link #delta(Board, long)} instead of being recomputed at every leaf; only
+ * mobility and tempo are computed in {@link #evaluate(Board, int)}.
+ */
+public final class Evaluator {
+
+    public static final Evaluator DEFAULT = new Evaluator(EvalWeights.DEFAULT);
+
+    /** Indices into the feature vector filled by {@link #features(Board, int[])}. */
+    public static final int MAN = 0;
+    public static final int KING = 1;
+    public static final int ADVANCEMENT = 2;
+    public static final int BACK_RANK = 3;
+    public static final int MOBILITY = 4;
+    public static final int TEMPO = 5;
+    public static final int FEATURE_COUNT = 6;
+
+    private static final int WHITE_BACK_ROW = 0xF0000000;
+    private static final int BLACK_BACK_ROW = 0x0000000F;
+
+    private final EvalWeights weights;
+    /** The piece-square value of each piece type on each square, from white's point of view. */
+    private final int[] squareValues = new int[4 * Squares.COUNT];
+
+    public Evaluator(EvalWeights weights) {
+        this.weights = weights;
+        for (int square = 0; square < Squares.COUNT; square++) {
+            int row = Squares.row(square);
+            int whiteMan = weights.man() + weights.advancement() * (Squares.BOARD_SIZE - 1 - row)
+                    + (row == Squares.BOARD_SIZE - 1 ? weights.backRank() : 0);
+            int blackMan = weights.man() + weights.advancement() * row + (row == 0 ? weights.backRank() : 0);
+            squareValues[type(true, false) * Squares.COUNT + square] = whiteMan;
+            squareValues[type(true, true) * Squares.COUNT + square] = weights.king();
+            squareValues[type(false, false) * Squares.COUNT + square] = -blackMan;
+            squareValues[type(false, true) * Squares.COUNT + square] = -weights.king();
+        }
+    }
+
+    public EvalWeights weights() {
+        return weights;
+    }
+
+    private static int type(boolean white, boolean king) {
+        return (white ? 0 : 2) | (king ? 1 : 0);
+    }
+
+    private int valueAt(Board board, int square) {
+        return squareValues[type(board.isWhite(square), board.isKing(square)) * Squares.COUNT + square];
+    }
+
+    /**
+     * @return The piece-square score of the position from white's point of view,
+     * computed from scratch.
+     */
+    public int pieceSquareScore(Board board) {
+        int score = 0;
+        for (int pieces = board.occupied(); pieces != 0; pieces &= pieces - 1) {
+            score += valueAt(board, Integer.numberOfTrailingZeros(pieces));
+        }
+        return score;
+    }
+
+    /**
+     * @param board The position before the move.
+     * @param move  A legal move in that position.
+     * @return How much the move changes the piece-square score.
+     */
+    public int delta(Board board, long move) {
+        int from = Move.from(move);
+        int type = type(board.isWhite(from), board.isKing(from));
+        int landed = Move.isPromotion(move) ? type | 1 : type;
+        int delta = squareValues[landed * Squares.COUNT + Move.to(move)] - squareValues[type * Squares.COUNT + from];
+        for (int captured = Move.captured(move); captured != 0; captured &= captured - 1) {
+            delta -= valueAt(board, Integer.numberOfTrailingZeros(captured));
+        }
+        return delta;
+    }
+
+    /**
+     * @param pieceSquareScore The position's {@link #pieceSquareScore(Board)}, however obtained.
+     * @return The evaluation from the side to move's point of view.
+     */
+    public int evaluate(Board board, int pieceSquareScore) {
+        int score = pieceSquareScore + (board.isWhiteToMove() ? weights.tempo() : -weights.tempo());
+        if (weights.mobility() != 0) {
+            score += weights.mobility() * (mobility(board, true) - mobility(board, false));
+        }
+        return board.isWhiteToMove() ? score : -score;
+    }
+
+    public int evaluate(Board board) {
+        return evaluate(board, pieceSquareScore(board));
+    }
+
+    /**
+     * Fills {@code features} with the term values, white's minus black's, so that
+     * the evaluation from white's point of view is their dot product with
+     * {@link EvalWeights#toArray()}.
+     */
+    public static void features(Board board, int[] features) {
+        int kings = board.kings();
+        int whiteMen = board.whitePieces() & ~kings;
+        int blackMen = board.blackPieces() & ~kings;
+        features[MAN] = Integer.bitCount(whiteMen) - Integer.bitCount(blackMen);
+        features[KING] = Integer.bitCount(board.whitePieces() & kings) - Integer.bitCount(board.blackPieces() & kings);
+        features[ADVANCEMENT] = advancement(whiteMen, true) - advancement(blackMen, false);
+        features[BACK_RANK] = Integer.bitCount(whiteMen & WHITE_BACK_ROW) - Integer.bitCount(blackMen & BLACK_BACK_ROW);
+        features[MOBILITY] = mobility(board, true) - mobility(board, false);
+        features[TEMPO] = board.isWhiteToMove() ? 1 : -1;
+    }
+
+    /**
+     * @return The total number of rows the men have advanced from their own back row.
+     */
+    private static int advancement(int men, boolean white) {
+        int rows = 0;
+        for (int row = 0; row < Squares.BOARD_SIZE; row++) {
+            int count = Integer.bitCount(men & (0xF << (row * 4)));
+            rows += count * (white ? Squares.BOARD_SIZE - 1 - row : row);
+        }
+        return rows;
+    }
+
+    /**
+     * @return The number of empty squares one side's pieces could step to, ignoring
+     * captures: forwards for men, any direction for kings.
+     */
+    private static int mobility(Board board, boolean white) {
+        int empty = board.empty();
+        int firstDir = white ? Squares.UP_LEFT : Squares.DOWN_LEFT;
+        int steps = 0;
+        for (int pieces = white ? board.whitePieces() : board.blackPieces(); pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            boolean king = board.isKing(square);
+            int first = king ? 0 : firstDir;
+            int last = king ? Squares.DIRECTIONS : firstDir + 2;
+            for (int dir = first; dir < last; dir++) {
+                int to = Squares.neighbour(square, dir);
+                if (to != Squares.NONE && (empty >>> to & 1) != 0) {
+                    steps++;
+                }
+            }
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,164 @@
+package com.checkers.engine;
+
+import com.checkers.core.Board;
+import com.checkers.tablebase.Tablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy SMP: several {@link SearchEngine}s search the same position at the same
+ * time and share one {@link TranspositionTable}. Helper threads start one ply
+ * deeper on alternate threads so they fill the table with results the main
+ * thread needs next. The main thread's result is returned and the node count
+ * covers every thread.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    private final SearchEngine[] engines;
+    private final TranspositionTable transpositionTable;
+    private final ExecutorService helperPool;
+    private final ExecutorService coordinator;
+    private volatile AtomicBoolean currentStopSignal = new AtomicBoolean();
+
+    /**
+     * @param threads            The number of search threads, including the main one.
+     * @param transpositionTable The table shared by all threads.
+     */
+    public ParallelSearch(int threads, TranspositionTable transpositionTable) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.transpositionTable = transpositionTable;
+        this.engines = new SearchEngine[threads];
+        for (int i = 0; i < threads; i++) {
+            engines[i] = new SearchEngine(transpositionTable);
+        }
+        this.helperPool = threads > 1 ? Executors.newFixedThreadPool(threads - 1, daemonThreads("search-helper")) : null;
+        this.coordinator = Executors.newSingleThreadExecutor(daemonThreads("search-main"));
+    }
+
+    public ParallelSearch(int threads, int tableMegabytes) {
+        this(threads, new TranspositionTable(tableMegabytes));
+    }
+
+    /**
+     * Searches on the calling thread plus the helper pool and blocks until done.
+     * Only one search may run at a time.
+     */
+    public SearchResult search(Board board, int maxDepth, long timeLimitMillis) {
+        return search(board, maxDepth, timeLimitMillis, new AtomicBoolean());
+    }
+
+    /**
+     * @param stopSignal Stops this search when set, like {@link #stop()}, but cannot
+     *                   reach a later search.
+     */
+    synchronized SearchResult search(Board board, int maxDepth, long timeLimitMillis, AtomicBoolean stopSignal) {
+        long deadline = SearchEngine.deadline(timeLimitMillis);
+        currentStopSignal = stopSignal;
+        transpositionTable.newSearch();
+
+        List<Future<SearchResult>> helpers = new ArrayList<>(engines.length - 1);
+        for (int i = 1; i < engines.length; i++) {
+            SearchEngine helper = engines[i];
+            int depthOffset = i & 1;
+            Board copy = new Board(board);
+            helpers.add(helperPool.submit(() -> helper.search(copy, maxDepth, deadline, stopSignal, depthOffset)));
+        }
+
+        SearchResult main = engines[0].search(board, maxDepth, deadline, stopSignal, 0);
+        stopSignal.set(true);
+
+        long nodes = main.nodes();
+        for (Future<SearchResult> helper : helpers) {
+            nodes += await(helper).nodes();
+        }
+        return new SearchResult(main.bestMove(), main.score(), main.depth(), nodes, main.elapsedNanos());
+    }
+
+    /**
+     * Runs {@link #search(Board, int, long)} on a background thread, so callers such
+     * as the JavaFX application thread are never blocked.
+     *
+     * @param board The position; a copy is taken before this method returns.
+     */
+    public CompletableFuture<SearchResult> bestMove(Board board, long timeLimitMillis) {
+        Board copy = new Board(board);
+        return CompletableFuture.supplyAsync(() -> search(copy, SearchEngine.MAX_PLY, timeLimitMillis), coordinator);
+    }
+
+    /**
+     * Stops the running search; its result is still delivered.
+     */
+    public void stop() {
+        currentStopSignal.set(true);
+    }
+
+    /**
+     * @param tablebase Endgame tables for every search thread to probe, or {@code null} for none.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        for (SearchEngine engine : engines) {
+            engine.setTablebase(tablebase);
+        }
+    }
+
+    /**
+     * @param listener Told about every iteration the main thread completes, or
+     *                 {@code null}. Node counts then cover the main thread only.
+     */
+    public void setListener(SearchListener listener) {
+        engines[0].setListener(listener);
+    }
+
+    /**
+     * @param weights The evaluation weights for every search thread.
+     */
+    public void setWeights(EvalWeights weights) {
+        for (SearchEngine engine : engines) {
+            engine.setWeights(weights);
+        }
+    }
+
+    public int threadCount() {
+        return engines.length;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        coordinator.shutdownNow();
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+
+    private static SearchResult await(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search thread", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,444 @@
+package com.checkers.engine;
+
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Squares;
+import com.checkers.core.Variant;
+import com.checkers.metrics.Counter;
+import com.checkers.metrics.Metrics;
+import com.checkers.tablebase.Tablebase;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Negamax alpha-beta search with iterative deepening. Moves are ordered with
+ * captures first (longest chain first), then killer moves, then by history score.
+ * Searches stop at a hard deadline or node limit; the result is always the best
+ * move of the deepest fully completed iteration. The evaluator's piece-square score
+ * is carried down the tree, one entry per ply, so leaves only add the terms that
+ * cannot be updated move by move. An instance is not thread-safe.
+ */
+public class SearchEngine {
+
+    public static final int WIN = 30_000;
+    public static final int MAX_PLY = 128;
+    private static final int INFINITY = WIN + 1;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    private static final int DEFAULT_TABLE_MEGABYTES = 32;
+    /** Longer time limits are cut to this, so the deadline in nanoseconds cannot overflow. */
+    private static final long MAX_TIME_MILLIS = TimeUnit.DAYS.toMillis(365);
+
+    private static final Counter SEARCHES = Metrics.counter("search.searches");
+    private static final Counter NODES = Metrics.counter("search.nodes");
+    private static final Counter TABLE_PROBES = Metrics.counter("search.tt.probes");
+    private static final Counter TABLE_HITS = Metrics.counter("search.tt.hits");
+
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    private final Board board = new Board();
+    private int[] orderScores = new int[256];
+    private final long[][] killers = new long[MAX_PLY + 1][2];
+    private final int[] history = new int[Squares.COUNT * Squares.COUNT];
+    private final int[] pieceSquareScores = new int[MAX_PLY + 1];
+    private final TranspositionTable transpositionTable;
+    private Tablebase tablebase;
+    private Evaluator evaluator = Evaluator.DEFAULT;
+    private SearchListener listener;
+
+    private long nodes;
+    private long tableProbes;
+    private long tableHits;
+    private long rootBestMove;
+    private long deadline;
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean searchForcedMoves;
+    private final AtomicBoolean ownStopSignal = new AtomicBoolean();
+    private AtomicBoolean stopSignal = ownStopSignal;
+    private boolean aborted;
+
+    public SearchEngine() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param transpositionTable The table to use; it may be shared with other engines.
+     */
+    public SearchEngine(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * @param board           The position to search; it is not modified.
+     * @param maxDepth        The deepest iteration to start.
+     * @param timeLimitMillis Hard limit on the wall-clock time spent.
+     * @return The best move of the deepest completed iteration, or {@link Move#NONE}
+     * if the side to move has no legal moves.
+     */
+    public SearchResult search(Board board, int maxDepth, long timeLimitMillis) {
+        ownStopSignal.set(false);
+        transpositionTable.newSearch();
+        return search(board, maxDepth, deadline(timeLimitMillis), ownStopSignal, 0);
+    }
+
+    /**
+     * @return The {@link System#nanoTime()} at which a search with this time limit
+     * starting now has to stop.
+     */
+    static long deadline(long timeLimitMillis) {
+        return System.nanoTime() + Math.min(timeLimitMillis, MAX_TIME_MILLIS) * 1_000_000L;
+    }
+
+    public SearchResult search(Board board, long timeLimitMillis) {
+        return search(board, MAX_PLY, timeLimitMillis);
+    }
+
+    /**
+     * Runs one search thread of a {@link ParallelSearch}.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} at which to give up.
+     * @param stopSignal    A flag shared by all threads of the search; setting it stops them all.
+     * @param depthOffset   How many plies deeper than the main thread to start, so that
+     *                      helper threads spread over different iterations.
+     */
+    SearchResult search(Board board, int maxDepth, long deadlineNanos, AtomicBoolean stopSignal, int depthOffset) {
+        long startTime = System.nanoTime();
+        this.deadline = deadlineNanos;
+        this.stopSignal = stopSignal;
+        nodes = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        aborted = false;
+        clearHeuristics();
+
+        this.board.copyFrom(board);
+        pieceSquareScores[0] = evaluator.pieceSquareScore(this.board);
+        MoveList rootMoves = moveLists[0];
+        MoveGenerator.generate(this.board, rootMoves);
+        if (rootMoves.isEmpty()) {
+            return new SearchResult(Move.NONE, -WIN, 0, 0, System.nanoTime() - startTime);
+        }
+
+        long bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        if (rootMoves.size() > 1 || searchForcedMoves) {
+            for (int depth = 1 + depthOffset; depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+                int score = searchRoot(depth, bestMove);
+                if (aborted) {
+                    break;
+                }
+                bestMove = rootBestMove;
+                bestScore = score;
+                completedDepth = depth;
+                if (listener != null) {
+                    listener.iterationCompleted(new SearchResult(bestMove, bestScore, depth, nodes,
+                            System.nanoTime() - startTime), principalVariation(depth));
+                }
+                if (Math.abs(score) >= WIN - MAX_PLY) {
+                    break;
+                }
+            }
+        }
+        SEARCHES.increment();
+        NODES.add(nodes);
+        TABLE_PROBES.add(tableProbes);
+        TABLE_HITS.add(tableHits);
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Asks a running search to finish as soon as possible. Safe to call from any thread.
+     */
+    public void stop() {
+        stopSignal.set(true);
+    }
+
+    /**
+     * @param tablebase Endgame tables to probe inside the search, or {@code null} for none.
+     *                  They hold standard-rules results and are skipped for other variants.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * @param listener Told about every completed iteration, or {@code null} for nobody.
+     */
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param nodeLimit The number of nodes after which a search stops, checked every
+     *                  {@value #TIME_CHECK_INTERVAL} nodes; {@link Long#MAX_VALUE} for no limit.
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * @param searchForcedMoves Whether to search a position with a single legal move.
+     *                          By default it is played at once with score 0 and depth 0,
+     *                          which suits play but not scoring positions.
+     */
+    public void setSearchForcedMoves(boolean searchForcedMoves) {
+        this.searchForcedMoves = searchForcedMoves;
+    }
+
+    /**
+     * @param weights The evaluation weights for subsequent searches.
+     */
+    public void setWeights(EvalWeights weights) {
+        this.evaluator = new Evaluator(weights);
+    }
+
+    TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    private int searchRoot(int depth, long previousBest) {
+        MoveList moves = moveLists[0];
+        orderMoves(moves, 0, previousBest);
+        int alpha = -INFINITY;
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            pieceSquareScores[1] = pieceSquareScores[0] + evaluator.delta(board, move);
+            board.make(move);
+            int score = -negamax(1, depth - 1, -INFINITY, -alpha);
+            board.unmake();
+            if (aborted) {
+                return alpha;
+            }
+            if (score > alpha) {
+                alpha = score;
+                rootBestMove = move;
+            }
+        }
+        return alpha;
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        if ((++nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && (stopSignal.get() || nodes >= nodeLimit || System.nanoTime() >= deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long hash = board.hash();
+        long entry = transpositionTable.probe(hash);
+        tableProbes++;
+        if (entry != 0) {
+            tableHits++;
+        }
+        if (entry != 0 && TranspositionTable.depth(entry) >= depth) {
+            int score = scoreFromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        if (tablebase != null && Integer.bitCount(board.occupied()) <= tablebase.maxPieces()
+                && board.variant() == Variant.STANDARD) {
+            int result = tablebase.probe(board);
+            if (result != Tablebase.UNKNOWN) {
+                return tablebaseScore(result, ply);
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        int count = MoveGenerator.generate(board, moves);
+        if (count == 0) {
+            return -WIN + ply;
+        }
+        // Captures are forced, so keep searching them past the horizon to avoid
+        // evaluating positions in the middle of an exchange.
+        boolean forcedCapture = Move.isCapture(moves.get(0));
+        if ((depth <= 0 && !forcedCapture) || ply >= MAX_PLY - 1) {
+            return evaluator.evaluate(board, pieceSquareScores[ply]);
+        }
+
+        orderMoves(moves, ply, tableMove(entry, moves));
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        long bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            long move = moves.get(i);
+            pieceSquareScores[ply + 1] = pieceSquareScores[ply] + evaluator.delta(board, move);
+            board.make(move);
+            int score = -negamax(ply + 1, depth - 1, -beta, -alpha);
+            board.unmake();
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        recordCutoff(move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        transpositionTable.store(hash, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Follows the table's best moves from the root. Entries can be overwritten, so
+     * the line may be shorter than the iteration's depth.
+     *
+     * @return Up to {@code maxLength} moves, the root's best move first.
+     */
+    private long[] principalVariation(int maxLength) {
+        long[] line = new long[maxLength];
+        int length = 0;
+        MoveList moves = moveLists[MAX_PLY];
+        long move = rootBestMove;
+        while (move != Move.NONE && length < maxLength) {
+            line[length++] = move;
+            board.make(move);
+            MoveGenerator.generate(board, moves);
+            move = tableMove(transpositionTable.probe(board.hash()), moves);
+        }
+        for (int i = 0; i < length; i++) {
+            board.unmake();
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * @return The generated move matching the table entry's move, or {@link Move#NONE}.
+     */
+    private static long tableMove(long entry, MoveList moves) {
+        if (entry == 0 || !TranspositionTable.hasMove(entry)) {
+            return Move.NONE;
+        }
+        int from = TranspositionTable.moveFrom(entry);
+        int to = TranspositionTable.moveTo(entry);
+        for (int i = 0; i < moves.size(); i++) {
+            long move = moves.get(i);
+            if (Move.from(move) == from && Move.to(move) == to) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Tablebase wins score below real wins found by search but far above any
+     * evaluation, and sooner is better so the search makes progress.
+     */
+    private static int tablebaseScore(int result, int ply) {
+        return switch (result) {
+            case Tablebase.WIN -> WIN / 2 - ply;
+            case Tablebase.LOSS -> -WIN / 2 + ply;
+            default -> 0;
+        };
+    }
+
+    // Win scores are stored relative to the current node so they stay valid when
+    // the same position is reached at a different ply.
+
+    private static int scoreToTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -WIN + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -WIN + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private void recordCutoff(long move, int ply, int depth) {
+        if (Move.isCapture(move)) {
+            return;
+        }
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = Move.from(move) * Squares.COUNT + Move.to(move);
+        history[index] += depth * depth;
+        if (history[index] >= KILLER_SCORE / 2) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Sorts the moves in place, best candidates first: the table or previous best
+     * move, then captures by chain length, then killers, then history.
+     */
+    private void orderMoves(MoveList moves, int ply, long firstMove) {
+        int count = moves.size();
+        if (count > orderScores.length) {
+            orderScores = new int[count * 2];
+        }
+        for (int i = 0; i < count; i++) {
+            long move = moves.get(i);
+            int score;
+            if (move == firstMove) {
+                score = Integer.MAX_VALUE;
+            } else if (Move.isCapture(move)) {
+                score = CAPTURE_SCORE + Move.captureCount(move);
+            } else if (move == killers[ply][0]) {
+                score = KILLER_SCORE + 1;
+            } else if (move == killers[ply][1]) {
+                score = KILLER_SCORE;
+            } else {
+                score = history[Move.from(move) * Squares.COUNT + Move.to(move)];
+            }
+            orderScores[i] = score;
+        }
+        for (int i = 1; i < count; i++) {
+            long move = moves.get(i);
+            int score = orderScores[i];
+            int j = i - 1;
+            while (j >= 0 && orderScores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                orderScores[j + 1] = orderScores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            orderScores[j + 1] = score;
+        }
+    }
+
+    private void clearHeuristics() {
+        for (long[] plyKillers : killers) {
+            plyKillers[0] = Move.NONE;
+            plyKillers[1] = Move.NONE;
+        }
+        Arrays.fill(history, 0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.checkers.engine;
+
+/**
+ * Receives the progress of an iterative-deepening search.
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+    /**
+     * Called on the search thread after each completed iteration, so it must return quickly.
+     *
+     * @param result The iteration's best move and score, with the nodes and time so far.
+     * @param line   The expected line of play, starting with the best move.
+     */
+    void iterationCompleted(SearchResult result, long[] line);
+}
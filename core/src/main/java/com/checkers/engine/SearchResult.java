@@ -0,0 +1,25 @@
+package com.checkers.engine;
+
+import com.checkers.core.Move;
+
+/**
+ * The outcome of a search: the best move found, its score from the point of view
+ * of the side to move, the deepest completed iteration and the work done.
+ */
+public record SearchResult(long bestMove, int score, int depth, long nodes, long elapsedNanos) {
+
+    public long nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    public boolean hasMove() {
+        return bestMove != Move.NONE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("best %s  score %d  depth %d  nodes %,d  time %d ms  nps %,d",
+                hasMove() ? Move.toString(bestMove) : "none", score, depth, nodes,
+                elapsedNanos / 1_000_000, nodesPerSecond());
+    }
+}
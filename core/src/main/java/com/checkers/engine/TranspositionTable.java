@@ -0,0 +1,178 @@
+package com.checkers.engine;
+
+import com.checkers.core.Move;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size transposition table that can be shared by any number of search
+ * threads without locks. Each entry is two 64-bit words: the packed data and the
+ * position hash XOR-ed with that data. Words are written with opaque (atomic,
+ * unordered) stores, so a reader can see a torn pair from two racing writers;
+ * such an entry fails the XOR check and is treated as a miss.
+ *
+ * <p>Entries are grouped in buckets of two. A probe looks at both entries of the
+ * bucket; which entry a store overwrites is decided by the {@link ReplacementPolicy}.
+ */
+public class TranspositionTable {
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    /**
+     * Decides which entry of a bucket a new result replaces.
+     */
+    public enum ReplacementPolicy {
+        /** Always overwrite the first entry of the bucket. */
+        ALWAYS_REPLACE,
+        /** Overwrite the first entry only with a deeper result or one from a newer search. */
+        DEPTH_PREFERRED,
+        /** First entry is depth-preferred; anything it rejects goes to the second entry. */
+        TWO_TIER
+    }
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int MAX_AGE = 63;
+
+    private final AtomicLongArray table;
+    private final int bucketMask;
+    private final ReplacementPolicy policy;
+    private volatile int age;
+
+    /**
+     * @param megabytes Memory budget; the table uses the largest power-of-two entry count that fits.
+     * @param policy    How entries are replaced when a bucket is full.
+     */
+    public TranspositionTable(int megabytes, ReplacementPolicy policy) {
+        long entries = Long.highestOneBit(Math.max(2, (long) megabytes * 1024 * 1024 / ENTRY_BYTES));
+        // AtomicLongArray is int-indexed and holds two words per entry.
+        entries = Math.min(entries, 1L << 29);
+        this.table = new AtomicLongArray((int) entries * 2);
+        this.bucketMask = (int) (entries / 2 - 1);
+        this.policy = policy;
+    }
+
+    public TranspositionTable(int megabytes) {
+        this(megabytes, ReplacementPolicy.TWO_TIER);
+    }
+
+    /**
+     * Marks the start of a new search so that older entries become preferred victims.
+     */
+    public void newSearch() {
+        age = (age + 1) & MAX_AGE;
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.setOpaque(i, 0L);
+        }
+    }
+
+    /**
+     * @return The packed data stored for {@code hash}, or 0 if there is none. Decode
+     * it with the static accessors.
+     */
+    public long probe(long hash) {
+        int base = bucketIndex(hash);
+        for (int slot = base; slot < base + 4; slot += 2) {
+            long data = table.getOpaque(slot + 1);
+            if (data != 0 && (table.getOpaque(slot) ^ data) == hash) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * @param hash  The position hash.
+     * @param move  The best move found, or {@link Move#NONE}.
+     * @param score The score, already adjusted to be independent of the search ply.
+     * @param depth The remaining depth the score was searched to.
+     * @param bound One of {@link #BOUND_EXACT}, {@link #BOUND_LOWER} or {@link #BOUND_UPPER}.
+     */
+    public void store(long hash, long move, int score, int depth, int bound) {
+        int base = bucketIndex(hash);
+        long data = pack(move, score, depth, bound, age);
+        int slot = chooseSlot(base, hash, depth);
+        if (slot >= 0) {
+            table.setOpaque(slot, hash ^ data);
+            table.setOpaque(slot + 1, data);
+        }
+    }
+
+    private int chooseSlot(int base, long hash, int depth) {
+        long firstData = table.getOpaque(base + 1);
+        boolean sameKey = firstData != 0 && (table.getOpaque(base) ^ firstData) == hash;
+        boolean firstReplaceable = sameKey || firstData == 0 || depth >= depth(firstData) || age(firstData) != age;
+        return switch (policy) {
+            case ALWAYS_REPLACE -> base;
+            case DEPTH_PREFERRED -> firstReplaceable ? base : -1;
+            case TWO_TIER -> firstReplaceable ? base : base + 2;
+        };
+    }
+
+    private int bucketIndex(long hash) {
+        return ((int) hash & bucketMask) << 2;
+    }
+
+    /**
+     * @return The number of entries written during the current search, per thousand
+     * sampled entries.
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, table.length() / 2);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table.getOpaque(i * 2 + 1);
+            if (data != 0 && age(data) == age) {
+                used++;
+            }
+        }
+        return sample == 0 ? 0 : used * 1000 / sample;
+    }
+
+    public int capacity() {
+        return table.length() / 2;
+    }
+
+    // Layout: from (5) | to (5) | score (16) | depth (8) | bound (2) | age (6)
+
+    private static long pack(long move, int score, int depth, int bound, int age) {
+        long moveBits = move == Move.NONE ? 0 : Move.from(move) | (Move.to(move) << 5);
+        return moveBits
+                | ((long) (score & 0xFFFF) << 10)
+                | ((long) Math.max(0, Math.min(depth, 255)) << 26)
+                | ((long) bound << 34)
+                | ((long) age << 36);
+    }
+
+    public static int moveFrom(long data) {
+        return (int) data & 31;
+    }
+
+    public static int moveTo(long data) {
+        return (int) (data >>> 5) & 31;
+    }
+
+    public static boolean hasMove(long data) {
+        return (data & 0x3FF) != 0;
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 10);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 26) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 34) & 3;
+    }
+
+    private static int age(long data) {
+        return (int) (data >>> 36) & MAX_AGE;
+    }
+}
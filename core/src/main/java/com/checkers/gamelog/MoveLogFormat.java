@@ -0,0 +1,134 @@
+package com.checkers.gamelog;
+
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.Squares;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary layout shared by {@link MoveLogWriter} and {@link MoveLogReader}.
+ *
+ * <p>A log starts with an {@value #HEADER_BYTES}-byte header and is followed by
+ * records. A move is two bytes: a 0 bit, a 5-bit choice among the legal moves with
+ * the same ends (normally 0), then the from and to squares. Every other record starts
+ * with a tag byte whose top bit is set:
+ *
+ * <pre>
+ * GAME_START  tag, packed board                  (14 bytes)
+ * CHECKPOINT  tag, ply (int), packed board       (18 bytes)
+ * GAME_END    tag, ply (int), result (byte)      (6 bytes)
+ * </pre>
+ *
+ * A packed board is the white, black and king bitboards followed by a side-to-move
+ * byte. Games follow each other; the moves of one game are never interleaved with
+ * another's.
+ *
+ * <p>The index file next to the log holds one {@value #INDEX_ENTRY_BYTES}-byte entry
+ * per non-move record (kind, game, ply, log offset), so a reader can jump to the
+ * checkpoint before any ply without scanning the log.
+ */
+final class MoveLogFormat {
+
+    static final int MAGIC = 0x434B4D4C;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    static final byte GAME_START = (byte) 0x80;
+    static final byte CHECKPOINT = (byte) 0x81;
+    static final byte GAME_END = (byte) 0x82;
+
+    static final int MOVE_BYTES = 2;
+    static final int BOARD_BYTES = 13;
+    static final int GAME_START_BYTES = 1 + BOARD_BYTES;
+    static final int CHECKPOINT_BYTES = 1 + 4 + BOARD_BYTES;
+    static final int GAME_END_BYTES = 1 + 4 + 1;
+    static final int INDEX_ENTRY_BYTES = 1 + 4 + 4 + 8;
+
+    private static final int SQUARE_BITS = 5;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int MAX_CHOICE = SQUARE_MASK;
+
+    private MoveLogFormat() {
+    }
+
+    static int recordBytes(byte tag) {
+        return switch (tag) {
+            case GAME_START -> GAME_START_BYTES;
+            case CHECKPOINT -> CHECKPOINT_BYTES;
+            case GAME_END -> GAME_END_BYTES;
+            default -> MOVE_BYTES;
+        };
+    }
+
+    static boolean isMove(byte firstByte) {
+        return firstByte >= 0;
+    }
+
+    /**
+     * @param board The position before the move.
+     * @param move  A legal move in that position.
+     * @param moves A scratch list.
+     */
+    static short encodeMove(Board board, long move, MoveList moves) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        MoveGenerator.generate(board, moves);
+        int choice = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            long candidate = moves.get(i);
+            if (candidate == move) {
+                if (choice > MAX_CHOICE) {
+                    break;
+                }
+                return (short) (choice << 2 * SQUARE_BITS | from << SQUARE_BITS | to);
+            }
+            if (Move.from(candidate) == from && Move.to(candidate) == to) {
+                choice++;
+            }
+        }
+        throw new IllegalArgumentException("Not a legal move here: " + Move.toString(move));
+    }
+
+    /**
+     * @return The move, or {@link Move#NONE} if it is not legal in the position.
+     */
+    static long decodeMove(Board board, short encoded, MoveList moves) {
+        int from = encoded >>> SQUARE_BITS & SQUARE_MASK;
+        int to = encoded & SQUARE_MASK;
+        int choice = encoded >>> 2 * SQUARE_BITS & MAX_CHOICE;
+        MoveGenerator.generate(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            long candidate = moves.get(i);
+            if (Move.from(candidate) == from && Move.to(candidate) == to && choice-- == 0) {
+                return candidate;
+            }
+        }
+        return Move.NONE;
+    }
+
+    static void writeBoard(ByteBuffer buffer, Board board) {
+        buffer.putInt(board.whitePieces());
+        buffer.putInt(board.blackPieces());
+        buffer.putInt(board.kings());
+        buffer.put((byte) (board.isWhiteToMove() ? 1 : 0));
+    }
+
+    static void readBoard(ByteBuffer buffer, Board board) {
+        int white = buffer.getInt();
+        int black = buffer.getInt();
+        int kings = buffer.getInt();
+        boolean whiteToMove = buffer.get() != 0;
+        board.clear();
+        for (int square = 0; square < Squares.COUNT; square++) {
+            if ((white >>> square & 1) != 0) {
+                board.place(square, true, (kings >>> square & 1) != 0);
+            } else if ((black >>> square & 1) != 0) {
+                board.place(square, false, (kings >>> square & 1) != 0);
+            }
+        }
+        board.setWhiteToMove(whiteToMove);
+    }
+}
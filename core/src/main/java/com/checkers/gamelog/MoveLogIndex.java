@@ -0,0 +1,209 @@
+package com.checkers.gamelog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.checkers.gamelog.MoveLogFormat.*;
+
+/**
+ * The in-memory checkpoint index of a log: one entry per game start, checkpoint and
+ * game end. It is loaded from the index file and completed by scanning whatever the
+ * log holds past the last indexed record, which also finds where a torn final record
+ * begins after a crash.
+ */
+final class MoveLogIndex {
+
+    private static final int SCAN_BUFFER_BYTES = 1 << 16;
+
+    byte[] kinds = new byte[64];
+    int[] games = new int[64];
+    int[] plies = new int[64];
+    long[] offsets = new long[64];
+    int size;
+
+    int[] gameFirstEntry = new int[16];
+    int gameCount;
+
+    /** The number of leading entries that are already in the index file. */
+    int persistedEntries;
+    /** Where the last complete record of the log ends. */
+    long validLength;
+    /** The ply reached by the last game if it has no end record, otherwise -1. */
+    int openGamePlies = -1;
+
+    static MoveLogIndex load(FileChannel log, Path indexFile) throws IOException {
+        MoveLogIndex index = new MoveLogIndex();
+        long logSize = log.size();
+        if (logSize < HEADER_BYTES) {
+            index.validLength = 0;
+            return index;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        log.read(header, 0);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a move log");
+        }
+        if (header.getShort(4) != VERSION) {
+            throw new IOException("Unsupported move log version " + header.getShort(4));
+        }
+        if (Files.exists(indexFile)) {
+            index.readIndexFile(indexFile, logSize);
+        }
+        index.persistedEntries = index.size;
+        index.scanTail(log, logSize);
+        return index;
+    }
+
+    private void readIndexFile(Path indexFile, long logSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long count = channel.size() / INDEX_ENTRY_BYTES;
+            ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_BYTES * 4096);
+            long position = 0;
+            for (long read = 0; read < count; ) {
+                buffer.clear();
+                int limit = (int) Math.min(buffer.capacity(), (count - read) * INDEX_ENTRY_BYTES);
+                buffer.limit(limit);
+                while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+                    // keep reading until the chunk is full
+                }
+                buffer.flip();
+                position += limit;
+                while (buffer.remaining() >= INDEX_ENTRY_BYTES) {
+                    byte kind = buffer.get();
+                    int game = buffer.getInt();
+                    int ply = buffer.getInt();
+                    long offset = buffer.getLong();
+                    read++;
+                    if (offset + recordBytes(kind) > logSize) {
+                        // The log was not forced this far before a crash; rescan from here.
+                        return;
+                    }
+                    add(kind, game, ply, offset);
+                }
+            }
+        }
+    }
+
+    private void scanTail(FileChannel log, long logSize) throws IOException {
+        long position = HEADER_BYTES;
+        int game = gameCount - 1;
+        int ply = 0;
+        boolean open = false;
+        if (size > 0) {
+            int last = size - 1;
+            position = offsets[last] + recordBytes(kinds[last]);
+            ply = plies[last];
+            open = kinds[last] != GAME_END;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        buffer.flip();
+        long bufferStart = position;
+        while (true) {
+            if (buffer.remaining() < CHECKPOINT_BYTES && bufferStart + buffer.limit() < logSize) {
+                bufferStart += buffer.position();
+                buffer.compact();
+                while (buffer.hasRemaining() && log.read(buffer, bufferStart + buffer.position()) > 0) {
+                    // fill the buffer
+                }
+                buffer.flip();
+            }
+            if (!buffer.hasRemaining()) {
+                break;
+            }
+            byte first = buffer.get(buffer.position());
+            int bytes = recordBytes(first);
+            if (buffer.remaining() < bytes || (!isMove(first) && first != GAME_START && first != CHECKPOINT
+                    && first != GAME_END)) {
+                break;
+            }
+            long offset = bufferStart + buffer.position();
+            if (isMove(first)) {
+                if (!open) {
+                    break;
+                }
+                ply++;
+                buffer.position(buffer.position() + bytes);
+                continue;
+            }
+            buffer.get();
+            if (first == GAME_START) {
+                game = gameCount;
+                ply = 0;
+                open = true;
+                add(GAME_START, game, 0, offset);
+                buffer.position(buffer.position() + BOARD_BYTES);
+            } else {
+                int recordedPly = buffer.getInt();
+                if (!open || recordedPly != ply) {
+                    break;
+                }
+                add(first, game, ply, offset);
+                if (first == GAME_END) {
+                    open = false;
+                    buffer.get();
+                } else {
+                    buffer.position(buffer.position() + BOARD_BYTES);
+                }
+            }
+        }
+        validLength = bufferStart + buffer.position();
+        openGamePlies = open ? ply : -1;
+    }
+
+    void add(byte kind, int game, int ply, long offset) {
+        if (size == kinds.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            games = Arrays.copyOf(games, capacity);
+            plies = Arrays.copyOf(plies, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+        if (kind == GAME_START) {
+            if (gameCount == gameFirstEntry.length) {
+                gameFirstEntry = Arrays.copyOf(gameFirstEntry, gameCount * 2);
+            }
+            gameFirstEntry[gameCount++] = size;
+        }
+        kinds[size] = kind;
+        games[size] = game;
+        plies[size] = ply;
+        offsets[size] = offset;
+        size++;
+    }
+
+    static void writeEntry(ByteBuffer buffer, byte kind, int game, int ply, long offset) {
+        buffer.put(kind).putInt(game).putInt(ply).putLong(offset);
+    }
+
+    /**
+     * @return The last entry of the game at or before the ply that holds a board, i.e.
+     * its start or a checkpoint.
+     */
+    int checkpointBefore(int game, int ply) {
+        int low = gameFirstEntry[game];
+        int high = (game + 1 < gameCount ? gameFirstEntry[game + 1] : size) - 1;
+        if (kinds[high] == GAME_END) {
+            high--;
+        }
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (plies[mid] <= ply) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    int endEntry(int game) {
+        int last = (game + 1 < gameCount ? gameFirstEntry[game + 1] : size) - 1;
+        return kinds[last] == GAME_END ? last : -1;
+    }
+}
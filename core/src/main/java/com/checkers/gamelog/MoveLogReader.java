@@ -0,0 +1,157 @@
+package com.checkers.gamelog;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.Move;
+import com.checkers.core.MoveList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.checkers.gamelog.MoveLogFormat.*;
+
+/**
+ * Random access to the games in a move log. Reaching a ply reads the nearest earlier
+ * checkpoint and replays at most one checkpoint interval of moves, however long the
+ * game is.
+ *
+ * <p>Run with {@code java com.checkers.gamelog.MoveLogReader <log> [game] [ply]} to list
+ * the games or print a position as FEN.
+ */
+public class MoveLogReader implements Closeable {
+
+    private final FileChannel log;
+    private final MoveLogIndex index;
+    private final MoveList moves = new MoveList();
+
+    public MoveLogReader(Path path) throws IOException {
+        this.log = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.index = MoveLogIndex.load(log, MoveLogWriter.indexPath(path));
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    public int gameCount() {
+        return index.gameCount;
+    }
+
+    /**
+     * @return The number of moves recorded for the game.
+     */
+    public int plyCount(int game) {
+        int end = index.endEntry(game);
+        if (end >= 0) {
+            return index.plies[end];
+        }
+        return game == index.gameCount - 1 ? index.openGamePlies : 0;
+    }
+
+    /**
+     * @return The result written when the game ended, or {@link MoveLogWriter#UNFINISHED}.
+     */
+    public int result(int game) throws IOException {
+        int end = index.endEntry(game);
+        if (end < 0) {
+            return MoveLogWriter.UNFINISHED;
+        }
+        return read(index.offsets[end], GAME_END_BYTES).get(GAME_END_BYTES - 1);
+    }
+
+    /**
+     * @param game The game number.
+     * @param ply  The number of moves to play from the start, 0 to {@link #plyCount(int)}.
+     * @return The position after that many moves.
+     */
+    public synchronized Board positionAt(int game, int ply) throws IOException {
+        if (game < 0 || game >= index.gameCount || ply < 0 || ply > plyCount(game)) {
+            throw new IndexOutOfBoundsException("No ply " + ply + " in game " + game);
+        }
+        int entry = index.checkpointBefore(game, ply);
+        int checkpointPly = index.plies[entry];
+        int headerBytes = index.kinds[entry] == GAME_START ? GAME_START_BYTES : CHECKPOINT_BYTES;
+        int remaining = ply - checkpointPly;
+        ByteBuffer buffer = read(index.offsets[entry], headerBytes + remaining * MOVE_BYTES);
+
+        Board board = new Board();
+        buffer.position(headerBytes - BOARD_BYTES);
+        readBoard(buffer, board);
+        for (int i = 0; i < remaining; i++) {
+            long move = decodeMove(board, buffer.getShort(), moves);
+            if (move == Move.NONE) {
+                throw new IOException("Corrupt move at ply " + (checkpointPly + i + 1) + " of game " + game);
+            }
+            board.makeMove(move);
+        }
+        return board;
+    }
+
+    /**
+     * @return Every move of the game, in order.
+     */
+    public synchronized long[] moves(int game) throws IOException {
+        int count = plyCount(game);
+        long[] result = new long[count];
+        Board board = positionAt(game, 0);
+        int done = 0;
+        int entry = index.gameFirstEntry[game];
+        while (done < count) {
+            long start = index.offsets[entry] + (index.kinds[entry] == GAME_START ? GAME_START_BYTES : CHECKPOINT_BYTES);
+            int next = entry + 1;
+            int stop = next < index.size && index.games[next] == game && index.kinds[next] == CHECKPOINT
+                    ? index.plies[next] : count;
+            ByteBuffer buffer = read(start, (stop - done) * MOVE_BYTES);
+            for (; done < stop; done++) {
+                long move = decodeMove(board, buffer.getShort(), moves);
+                if (move == Move.NONE) {
+                    throw new IOException("Corrupt move at ply " + (done + 1) + " of game " + game);
+                }
+                result[done] = move;
+                board.makeMove(move);
+            }
+            entry = next;
+        }
+        return result;
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (log.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of log");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: MoveLogReader <log> [game] [ply]");
+            System.exit(2);
+        }
+        try (MoveLogReader reader = new MoveLogReader(Path.of(args[0]))) {
+            if (args.length == 1) {
+                System.out.println(reader.gameCount() + " games");
+                for (int game = 0; game < Math.min(reader.gameCount(), 20); game++) {
+                    System.out.println("game " + game + ": " + reader.plyCount(game) + " plies, result "
+                            + reader.result(game));
+                }
+                return;
+            }
+            int game = Integer.parseInt(args[1]);
+            int ply = args.length > 2 ? Integer.parseInt(args[2]) : reader.plyCount(game);
+            System.out.println(Fen.format(reader.positionAt(game, ply)));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.checkers.gamelog;
+
+import com.checkers.core.Board;
+import com.checkers.core.MoveList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.checkers.gamelog.MoveLogFormat.*;
+
+/**
+ * Appends games to a compact binary move log (see {@link MoveLogFormat} for the
+ * layout). Records are buffered and written with a {@link FileChannel}; the log and
+ * its index are forced to disk in batches, after a number of records or a time
+ * interval, rather than on every move.
+ *
+ * <p>Reopening an existing log continues after its last complete record. A game left
+ * open by a crash is closed with {@link #UNFINISHED} first.
+ *
+ * <p>Games are written one at a time. All methods are synchronized, so several threads
+ * may share a writer as long as they take turns with whole games.
+ */
+public class MoveLogWriter implements Closeable {
+
+    public static final int UNFINISHED = 0;
+    public static final int WHITE_WINS = 1;
+    public static final int BLACK_WINS = 2;
+    public static final int DRAW = 3;
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 32;
+    public static final int DEFAULT_SYNC_RECORDS = 1024;
+    public static final long DEFAULT_SYNC_MILLIS = 1000;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel log;
+    private final FileChannel index;
+    private final ByteBuffer logBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer indexBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final int checkpointInterval;
+    private final int syncRecords;
+    private final long syncNanos;
+
+    private final Board board = new Board();
+    private final MoveList moves = new MoveList();
+    private long position;
+    private int gameCount;
+    private boolean gameOpen;
+    private int ply;
+    private int unsyncedRecords;
+    private long lastSyncNanos = System.nanoTime();
+
+    public MoveLogWriter(Path path) throws IOException {
+        this(path, DEFAULT_CHECKPOINT_INTERVAL, DEFAULT_SYNC_RECORDS, DEFAULT_SYNC_MILLIS);
+    }
+
+    /**
+     * @param path               The log file; the index is written next to it with an
+     *                           {@code .idx} suffix.
+     * @param checkpointInterval The number of plies between packed-board checkpoints.
+     * @param syncRecords        Force to disk after this many records.
+     * @param syncMillis         Force to disk when a record is written this long after
+     *                           the last sync.
+     */
+    public MoveLogWriter(Path path, int checkpointInterval, int syncRecords, long syncMillis) throws IOException {
+        this.checkpointInterval = checkpointInterval;
+        this.syncRecords = syncRecords;
+        this.syncNanos = syncMillis * 1_000_000L;
+        this.log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.index = FileChannel.open(indexPath(path), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            recover(path);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    static Path indexPath(Path log) {
+        return log.resolveSibling(log.getFileName() + ".idx");
+    }
+
+    private void recover(Path path) throws IOException {
+        MoveLogIndex existing = MoveLogIndex.load(log, indexPath(path));
+        if (existing.validLength == 0) {
+            log.truncate(0);
+            index.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).flip();
+            log.write(header, 0);
+            position = HEADER_BYTES;
+        } else {
+            log.truncate(existing.validLength);
+            index.truncate((long) existing.persistedEntries * INDEX_ENTRY_BYTES);
+            position = existing.validLength;
+            for (int i = existing.persistedEntries; i < existing.size; i++) {
+                writeIndexEntry(existing.kinds[i], existing.games[i], existing.plies[i], existing.offsets[i]);
+            }
+        }
+        gameCount = existing.gameCount;
+        if (existing.openGamePlies >= 0) {
+            gameOpen = true;
+            ply = existing.openGamePlies;
+            writeEnd(UNFINISHED);
+        }
+        sync();
+    }
+
+    /**
+     * Starts recording a new game.
+     *
+     * @param start The position the game starts from.
+     * @return The game's number in the log, counting from 0.
+     */
+    public synchronized int startGame(Board start) throws IOException {
+        if (gameOpen) {
+            throw new IllegalStateException("Game " + (gameCount - 1) + " has not ended");
+        }
+        board.copyFrom(start);
+        ply = 0;
+        gameOpen = true;
+        ensureCapacity(GAME_START_BYTES);
+        writeIndexEntry(GAME_START, gameCount, 0, position);
+        logBuffer.put(GAME_START);
+        writeBoard(logBuffer, board);
+        position += GAME_START_BYTES;
+        recordWritten();
+        return gameCount++;
+    }
+
+    /**
+     * @param move A legal move in the current position of the game being recorded.
+     */
+    public synchronized void append(long move) throws IOException {
+        if (!gameOpen) {
+            throw new IllegalStateException("No game started");
+        }
+        short encoded = encodeMove(board, move, moves);
+        board.makeMove(move);
+        ply++;
+        ensureCapacity(MOVE_BYTES + CHECKPOINT_BYTES);
+        logBuffer.putShort(encoded);
+        position += MOVE_BYTES;
+        if (ply % checkpointInterval == 0) {
+            writeIndexEntry(CHECKPOINT, gameCount - 1, ply, position);
+            logBuffer.put(CHECKPOINT).putInt(ply);
+            writeBoard(logBuffer, board);
+            position += CHECKPOINT_BYTES;
+        }
+        recordWritten();
+    }
+
+    /**
+     * @param result One of {@link #UNFINISHED}, {@link #WHITE_WINS}, {@link #BLACK_WINS}
+     *               or {@link #DRAW}.
+     */
+    public synchronized void endGame(int result) throws IOException {
+        if (!gameOpen) {
+            throw new IllegalStateException("No game started");
+        }
+        writeEnd(result);
+        recordWritten();
+    }
+
+    /**
+     * Records a whole game at once.
+     *
+     * @return The game's number in the log.
+     */
+    public synchronized int appendGame(Board start, long[] gameMoves, int count, int result) throws IOException {
+        int game = startGame(start);
+        for (int i = 0; i < count; i++) {
+            append(gameMoves[i]);
+        }
+        endGame(result);
+        return game;
+    }
+
+    public synchronized boolean isGameOpen() {
+        return gameOpen;
+    }
+
+    public synchronized int gameCount() {
+        return gameCount;
+    }
+
+    private void writeEnd(int result) throws IOException {
+        ensureCapacity(GAME_END_BYTES);
+        writeIndexEntry(GAME_END, gameCount - 1, ply, position);
+        logBuffer.put(GAME_END).putInt(ply).put((byte) result);
+        position += GAME_END_BYTES;
+        gameOpen = false;
+    }
+
+    private void writeIndexEntry(byte kind, int game, int entryPly, long offset) throws IOException {
+        if (indexBuffer.remaining() < INDEX_ENTRY_BYTES) {
+            // The log must reach disk before index entries that point into it.
+            drainLog();
+            drainIndex();
+        }
+        MoveLogIndex.writeEntry(indexBuffer, kind, game, entryPly, offset);
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (logBuffer.remaining() < bytes) {
+            drainLog();
+        }
+    }
+
+    private void recordWritten() throws IOException {
+        unsyncedRecords++;
+        if (unsyncedRecords >= syncRecords || System.nanoTime() - lastSyncNanos >= syncNanos) {
+            sync();
+        }
+    }
+
+    /**
+     * Writes everything buffered and forces the log, then the index, to disk.
+     */
+    public synchronized void sync() throws IOException {
+        drainLog();
+        log.force(false);
+        drainIndex();
+        index.force(false);
+        unsyncedRecords = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private void drainLog() throws IOException {
+        logBuffer.flip();
+        while (logBuffer.hasRemaining()) {
+            log.write(logBuffer, position - logBuffer.remaining());
+        }
+        logBuffer.clear();
+    }
+
+    private void drainIndex() throws IOException {
+        indexBuffer.flip();
+        while (indexBuffer.hasRemaining()) {
+            index.write(indexBuffer, index.size());
+        }
+        indexBuffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (log.isOpen() && index.isOpen()) {
+                sync();
+            }
+        } finally {
+            log.close();
+            index.close();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.checkers.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count. Updates are dropped while metrics are off, which
+ * costs one read of a static field.
+ */
+public class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        if (Metrics.enabled) {
+            value.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if (Metrics.enabled) {
+            value.add(amount);
+        }
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    public void reset() {
+        value.reset();
+    }
+}
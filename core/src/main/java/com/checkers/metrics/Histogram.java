@@ -0,0 +1,120 @@
+package com.checkers.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, typically durations in nanoseconds.
+ * Buckets are log-linear: each power of two is split into 16 sub-buckets, so a
+ * percentile is accurate to about 6% while recording is a single atomic increment.
+ * Histograms from {@link Metrics#histogram(String)} drop values while metrics are off;
+ * ones created directly always record.
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private final boolean switchable;
+
+    public Histogram() {
+        this(false);
+    }
+
+    Histogram(boolean switchable) {
+        this.switchable = switchable;
+    }
+
+    public void record(long value) {
+        if (switchable && !Metrics.enabled) {
+            return;
+        }
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(index(clamped));
+        sum.add(clamped);
+        long previous = max.get();
+        while (clamped > previous && !max.compareAndSet(previous, clamped)) {
+            previous = max.get();
+        }
+    }
+
+    /**
+     * Records the time since {@code startNanos}, unless it is 0, which
+     * {@link Metrics#startTimer()} returns while metrics are off.
+     */
+    public void recordSince(long startNanos) {
+        if (startNanos != 0) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public double mean() {
+        long total = count();
+        return total == 0 ? 0 : sum.sum() / (double) total;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @param percentile Between 0 and 100.
+     * @return The upper bound of the bucket holding the given percentile, or 0 when
+     * nothing has been recorded.
+     */
+    public long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank && seen > 0) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        int mantissa = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKETS + mantissa - SUB_BUCKETS;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + index % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,163 @@
+package com.checkers.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The registry of named counters and histograms. Instrumented code looks its metrics
+ * up once and keeps them in static fields:
+ *
+ * <pre>
+ * private static final Counter CAPTURES = Metrics.counter("ui.moves.capture");
+ * private static final Histogram VALIDATION = Metrics.histogram("ui.move.validationNanos");
+ *
+ * CAPTURES.increment();
+ * long start = Metrics.startTimer();
+ * ...
+ * VALIDATION.recordSince(start);
+ * </pre>
+ *
+ * Metrics are off unless the {@code checkers.metrics} system property is {@code true}
+ * or they are switched on with {@link #setEnabled(boolean)} or over JMX. While off,
+ * every update is a single branch on a volatile field and no clock is read. With
+ * {@code -Dcheckers.metrics.dump=<file>} the values are written to a file when the JVM
+ * exits.
+ */
+public final class Metrics {
+
+    public static final String OBJECT_NAME = "com.checkers:type=Metrics";
+
+    /**
+     * Read on every update. Volatile so that a loop such as the search cannot keep a
+     * stale copy once metrics are switched; on x86 the read is still a plain load.
+     */
+    static volatile boolean enabled = Boolean.getBoolean("checkers.metrics");
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    static {
+        String dumpFile = System.getProperty("checkers.metrics.dump");
+        if (dumpFile != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dump(Path.of(dumpFile));
+                } catch (IOException e) {
+                    System.err.println("Could not write metrics to " + dumpFile + ": " + e.getMessage());
+                }
+            }, "metrics-dump"));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> new Histogram(true));
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * @return The current {@link System#nanoTime()}, or 0 while metrics are off, for
+     * {@link Histogram#recordSince(long)}.
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @return Every counter, and the count, mean, p50, p99 and max of every histogram,
+     * sorted by name.
+     */
+    public static Map<String, Long> values() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.get()));
+        HISTOGRAMS.forEach((name, histogram) -> {
+            values.put(name + ".count", histogram.count());
+            values.put(name + ".mean", Math.round(histogram.mean()));
+            values.put(name + ".p50", histogram.percentile(50));
+            values.put(name + ".p99", histogram.percentile(99));
+            values.put(name + ".max", histogram.max());
+        });
+        return values;
+    }
+
+    /**
+     * Writes every value as a {@code name value} line.
+     */
+    public static void dump(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> value : values().entrySet()) {
+                out.write(value.getKey() + " " + value.getValue() + "\n");
+            }
+        }
+    }
+
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Publishes the metrics over JMX so they can be read and switched on or off from
+     * JConsole or any other JMX client. Calling it more than once has no effect.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMXBean() {
+                    @Override
+                    public boolean isEnabled() {
+                        return Metrics.isEnabled();
+                    }
+
+                    @Override
+                    public void setEnabled(boolean enabled) {
+                        Metrics.setEnabled(enabled);
+                    }
+
+                    @Override
+                    public Map<String, Long> getValues() {
+                        return values();
+                    }
+
+                    @Override
+                    public void dump(String file) throws IOException {
+                        Metrics.dump(Path.of(file));
+                    }
+
+                    @Override
+                    public void reset() {
+                        Metrics.reset();
+                    }
+                }, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.checkers.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The JMX view of {@link Metrics}, registered as {@value Metrics#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return Every counter, and the count, mean, p50, p99 and max of every histogram.
+     */
+    Map<String, Long> getValues();
+
+    void dump(String file) throws IOException;
+
+    void reset();
+}
@@ -0,0 +1,132 @@
+package com.checkers.pdn;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.Move;
+import com.checkers.core.MoveList;
+import com.checkers.core.MoveNotation;
+import com.checkers.core.Variant;
+import com.checkers.core.VariantBoard;
+import com.checkers.core.VariantMove;
+
+/**
+ * Replays a game on a {@link Board}, or a {@link VariantBoard} for 10x10 games,
+ * checking every move against the rules with {@link MoveNotation}. The rules and the
+ * side that moves first come from the {@code GameType} tag; a game without one is
+ * played under {@link Variant#STANDARD}.
+ *
+ * <p>Not thread-safe: each worker thread uses its own replayer.
+ */
+public class GameReplayer {
+
+    /**
+     * The rules of a PDN {@code GameType}.
+     *
+     * @param variant    The rules to replay under.
+     * @param whiteFirst Whether white makes the first move from the start position.
+     */
+    record GameType(Variant variant, boolean whiteFirst) {
+
+        static final GameType DEFAULT = new GameType(Variant.STANDARD, true);
+
+        /**
+         * @param tag The tag's value, e.g. {@code 21} or {@code 21,B,8,8,1,0}; the
+         *            optional second field names the colour that moves first.
+         * @return The rules, or {@code null} if this project does not play them.
+         */
+        static GameType parse(String tag) {
+            String[] fields = tag.split(",");
+            GameType type = switch (fields[0].trim()) {
+                case "20" -> new GameType(Variant.INTERNATIONAL, true);
+                // English checkers numbers black's men 1-12, and black moves first.
+                case "21" -> new GameType(Variant.ENGLISH, false);
+                case "26" -> new GameType(Variant.BRAZILIAN, true);
+                default -> null;
+            };
+            if (type != null && fields.length > 1) {
+                String first = fields[1].trim();
+                if (first.equalsIgnoreCase("W") || first.equalsIgnoreCase("B")) {
+                    type = new GameType(type.variant, first.equalsIgnoreCase("W"));
+                }
+            }
+            return type;
+        }
+    }
+
+    private final Board board = new Board();
+    private final MoveList moves = new MoveList();
+
+    public ReplayResult replay(String source, PdnGame game) {
+        String tag = game.tag("GameType");
+        GameType type = tag != null ? GameType.parse(tag) : GameType.DEFAULT;
+        if (type == null) {
+            return new ReplayResult(source, game.number(), 0, 0, 0, game.result(), "unsupported GameType " + tag);
+        }
+        if (!type.variant().isCompact()) {
+            return replayVariant(source, game, type);
+        }
+
+        String fen = game.tag("FEN");
+        try {
+            if (fen != null) {
+                board.copyFrom(Fen.parse(fen));
+                board.setVariant(type.variant());
+            } else {
+                board.copyFrom(Board.initial(type.variant()));
+                board.setWhiteToMove(type.whiteFirst());
+            }
+        } catch (IllegalArgumentException e) {
+            return new ReplayResult(source, game.number(), 0, 0, 0, game.result(), e.getMessage());
+        }
+
+        int plies = 0;
+        String error = null;
+        for (String token : game.moves()) {
+            long move = MoveNotation.parse(board, token, moves);
+            if (move == Move.NONE || move == MoveNotation.AMBIGUOUS) {
+                error = moveError(move == MoveNotation.AMBIGUOUS, token, plies);
+                break;
+            }
+            board.makeMove(move);
+            plies++;
+        }
+        return new ReplayResult(source, game.number(), plies, board.whiteCount(), board.blackCount(),
+                game.result(), error);
+    }
+
+    /**
+     * Replays a game on a board larger than 8x8, which {@link Board} cannot hold.
+     */
+    private ReplayResult replayVariant(String source, PdnGame game, GameType type) {
+        String fen = game.tag("FEN");
+        VariantBoard variantBoard;
+        try {
+            if (fen != null) {
+                variantBoard = Fen.parse(fen, type.variant());
+            } else {
+                variantBoard = VariantBoard.initial(type.variant());
+                variantBoard.setWhiteToMove(type.whiteFirst());
+            }
+        } catch (IllegalArgumentException e) {
+            return new ReplayResult(source, game.number(), 0, 0, 0, game.result(), e.getMessage());
+        }
+
+        int plies = 0;
+        String error = null;
+        for (String token : game.moves()) {
+            long move = MoveNotation.parse(variantBoard, token, moves);
+            if (move == VariantMove.NONE || move == MoveNotation.AMBIGUOUS) {
+                error = moveError(move == MoveNotation.AMBIGUOUS, token, plies);
+                break;
+            }
+            variantBoard.makeMove(move);
+            plies++;
+        }
+        return new ReplayResult(source, game.number(), plies, variantBoard.whiteCount(), variantBoard.blackCount(),
+                game.result(), error);
+    }
+
+    private static String moveError(boolean ambiguous, String token, int plies) {
+        return (ambiguous ? "ambiguous move " : "illegal move ") + token + " at ply " + (plies + 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.checkers.pdn;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game read from a PDN file.
+ *
+ * @param number The 1-based position of the game in its file.
+ * @param tags   The header tags, in file order.
+ * @param moves  The move tokens, e.g. {@code 22-18} or {@code 18x11x4}, without move numbers.
+ * @param result The game termination marker, or {@code *} when it was missing.
+ */
+public record PdnGame(int number, Map<String, String> tags, List<String> moves, String result) {
+
+    public String tag(String name) {
+        return tags.get(name);
+    }
+}
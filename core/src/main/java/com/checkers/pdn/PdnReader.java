@@ -0,0 +1,162 @@
+package com.checkers.pdn;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams games out of a PDN (Portable Draughts Notation) source one at a time, so a
+ * file of any size is read with only the current game in memory. Comments,
+ * variations, NAGs, move numbers and move strength marks are skipped.
+ */
+public class PdnReader implements Closeable {
+
+    private static final Set<String> RESULTS = Set.of("1-0", "0-1", "1/2-1/2", "2-0", "0-2", "1-1", "0-0", "*");
+
+    private final BufferedReader reader;
+    private String pendingLine;
+    private int gameCount;
+
+    public PdnReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+    }
+
+    /**
+     * @return The next game, or {@code null} at the end of the input.
+     */
+    public PdnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        String result = null;
+        boolean inMoves = false;
+        int commentDepth = 0;
+        int variationDepth = 0;
+
+        String line;
+        while ((line = nextLine()) != null) {
+            String trimmed = line.trim();
+            if (commentDepth == 0 && variationDepth == 0 && trimmed.startsWith("[")) {
+                if (inMoves) {
+                    // A new header without a result marker: the previous game is over.
+                    pendingLine = line;
+                    break;
+                }
+                parseTag(trimmed, tags);
+                continue;
+            }
+            if (trimmed.isEmpty() || trimmed.startsWith("%")) {
+                continue;
+            }
+            inMoves = true;
+
+            int i = 0;
+            int length = trimmed.length();
+            while (i < length && result == null) {
+                char c = trimmed.charAt(i);
+                if (commentDepth > 0) {
+                    if (c == '}') {
+                        commentDepth--;
+                    }
+                    i++;
+                } else if (c == '{') {
+                    commentDepth++;
+                    i++;
+                } else if (c == ';') {
+                    break;
+                } else if (c == '(') {
+                    variationDepth++;
+                    i++;
+                } else if (c == ')') {
+                    variationDepth = Math.max(0, variationDepth - 1);
+                    i++;
+                } else if (Character.isWhitespace(c)) {
+                    i++;
+                } else {
+                    int end = i;
+                    while (end < length && !isDelimiter(trimmed.charAt(end))) {
+                        end++;
+                    }
+                    if (variationDepth == 0) {
+                        String token = trimmed.substring(i, end);
+                        if (RESULTS.contains(token)) {
+                            result = token;
+                            if (end < length) {
+                                pendingLine = trimmed.substring(end);
+                            }
+                        } else {
+                            addMove(token, moves);
+                        }
+                    }
+                    i = end;
+                }
+            }
+            if (result != null) {
+                break;
+            }
+        }
+
+        if (tags.isEmpty() && moves.isEmpty() && result == null) {
+            return null;
+        }
+        return new PdnGame(++gameCount, tags, moves, result != null ? result : "*");
+    }
+
+    private String nextLine() throws IOException {
+        if (pendingLine != null) {
+            String line = pendingLine;
+            pendingLine = null;
+            return line;
+        }
+        return reader.readLine();
+    }
+
+    private static boolean isDelimiter(char c) {
+        return Character.isWhitespace(c) || c == '{' || c == '(' || c == ')' || c == ';';
+    }
+
+    private static void parseTag(String line, Map<String, String> tags) {
+        int space = line.indexOf(' ');
+        int open = line.indexOf('"');
+        int close = line.lastIndexOf('"');
+        if (space < 0 || open < 0 || close <= open) {
+            return;
+        }
+        tags.put(line.substring(1, space), line.substring(open + 1, close));
+    }
+
+    private static void addMove(String token, List<String> moves) {
+        if (token.startsWith("$")) {
+            return;
+        }
+        // Strip a leading move number such as "12." or "12..." that is glued to the move.
+        int start = 0;
+        while (start < token.length() && Character.isDigit(token.charAt(start))) {
+            start++;
+        }
+        if (start < token.length() && token.charAt(start) == '.') {
+            while (start < token.length() && token.charAt(start) == '.') {
+                start++;
+            }
+        } else {
+            start = 0;
+        }
+        int end = token.length();
+        while (end > start && (token.charAt(end - 1) == '!' || token.charAt(end - 1) == '?')) {
+            end--;
+        }
+        if (end > start) {
+            moves.add(token.substring(start, end));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,175 @@
+package com.checkers.pdn;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Replays every game in a set of PDN files without the UI, validating each move and
+ * recording the final piece counts. Files are processed in parallel, one file per
+ * worker, and each worker streams its file a game at a time, so memory use depends
+ * on the thread count rather than on the size of the input.
+ *
+ * <p>Run with {@code java com.checkers.pdn.ReplayPipeline [--threads=N] [--report=results.csv] <file-or-directory>...};
+ * directories are searched for {@code .pdn} files.
+ */
+public class ReplayPipeline {
+
+    /**
+     * @param games        The number of games read.
+     * @param invalid      The games that contained an illegal move or a bad FEN tag.
+     * @param plies        The moves applied across all games.
+     * @param elapsedNanos The wall-clock time of the run.
+     */
+    public record Summary(long games, long invalid, long plies, long elapsedNanos) {
+
+        public double gamesPerSecond() {
+            return elapsedNanos > 0 ? games * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games (%d invalid), %d plies in %.2f s: %.0f games/s",
+                    games, invalid, plies, elapsedNanos / 1e9, gamesPerSecond());
+        }
+    }
+
+    private final int threads;
+    private final Writer report;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder plies = new LongAdder();
+
+    /**
+     * @param threads The number of files replayed at once.
+     * @param report  Receives one CSV line per game, or {@code null} for no report.
+     */
+    public ReplayPipeline(int threads, Writer report) {
+        this.threads = threads;
+        this.report = report;
+    }
+
+    public Summary run(List<Path> files) throws IOException, InterruptedException {
+        games.reset();
+        invalid.reset();
+        plies.reset();
+        if (report != null) {
+            report.write("file,game,plies,white,black,result,error\n");
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            ThreadLocal<GameReplayer> replayers = ThreadLocal.withInitial(GameReplayer::new);
+            for (Path file : files) {
+                futures.add(pool.submit(() -> {
+                    replayFile(file, replayers.get());
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        if (report != null) {
+            report.flush();
+        }
+        return new Summary(games.sum(), invalid.sum(), plies.sum(), System.nanoTime() - start);
+    }
+
+    private void replayFile(Path file, GameReplayer replayer) throws IOException {
+        String source = file.toString();
+        try (PdnReader reader = new PdnReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            PdnGame game;
+            while ((game = reader.next()) != null) {
+                ReplayResult result = replayer.replay(source, game);
+                games.increment();
+                plies.add(result.plies());
+                if (!result.isValid()) {
+                    invalid.increment();
+                    System.err.println(result);
+                }
+                if (report != null) {
+                    writeReport(result);
+                }
+            }
+        }
+    }
+
+    private void writeReport(ReplayResult result) throws IOException {
+        String line = String.format("%s,%d,%d,%d,%d,%s,%s%n", csv(result.source()), result.game(), result.plies(),
+                result.whiteCount(), result.blackCount(), result.result(),
+                result.error() == null ? "" : csv(result.error()));
+        synchronized (report) {
+            report.write(line);
+        }
+    }
+
+    private static String csv(String value) {
+        return value.indexOf(',') < 0 && value.indexOf('"') < 0 ? value : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static List<Path> collectFiles(List<String> arguments) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String argument : arguments) {
+            Path path = Paths.get(argument);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    walk.filter(p -> p.getFileName().toString().toLowerCase().endsWith(".pdn"))
+                            .sorted()
+                            .forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path reportPath = null;
+        List<String> inputs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportPath = Paths.get(arg.substring("--report=".length()));
+            } else {
+                inputs.add(arg);
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: ReplayPipeline [--threads=N] [--report=results.csv] <file-or-directory>...");
+            System.exit(2);
+        }
+
+        List<Path> files = collectFiles(inputs);
+        Summary summary;
+        try (BufferedWriter report = reportPath != null ? Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8) : null) {
+            summary = new ReplayPipeline(threads, report).run(files);
+        }
+        System.out.println(files.size() + " files, " + threads + " threads: " + summary);
+        System.exit(summary.invalid() == 0 ? 0 : 1);
+    }
+}
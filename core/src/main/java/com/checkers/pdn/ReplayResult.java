@@ -0,0 +1,26 @@
+package com.checkers.pdn;
+
+/**
+ * The outcome of replaying one game.
+ *
+ * @param source     The file the game came from.
+ * @param game       The 1-based position of the game in its file.
+ * @param plies      The number of moves that were legal and applied.
+ * @param whiteCount The white pieces left on the board.
+ * @param blackCount The black pieces left on the board.
+ * @param result     The game's recorded result.
+ * @param error      Why replay stopped, or {@code null} when every move was legal.
+ */
+public record ReplayResult(String source, int game, int plies, int whiteCount, int blackCount,
+                           String result, String error) {
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d plies=%d white=%d black=%d result=%s%s", source, game, plies,
+                whiteCount, blackCount, result, error == null ? "" : " error=" + error);
+    }
+}
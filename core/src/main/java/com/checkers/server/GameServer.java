@@ -0,0 +1,103 @@
+package com.checkers.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+
+/**
+ * A headless server hosting any number of independent games over a line-based TCP
+ * protocol (see {@link GameSession}). Every connection is one session served by its
+ * own virtual thread, so thousands of concurrent games cost little more than their
+ * boards.
+ *
+ * <p>Run with {@code java com.checkers.server.GameServer [--port=7878] [--bind=0.0.0.0] [--report=5]};
+ * every {@code --report} seconds it prints sessions, moves per second and p99 move
+ * latency. It listens on loopback unless {@code --bind} says otherwise.
+ */
+public class GameServer implements AutoCloseable {
+
+    private static final int BACKLOG = 4096;
+
+    private final ServerSocket serverSocket;
+    private final ServerStats stats = new ServerStats();
+    private Thread acceptor;
+
+    /**
+     * @param port    The port to listen on, or 0 for any free port.
+     * @param address The address to bind to.
+     */
+    public GameServer(int port, InetAddress address) throws IOException {
+        this.serverSocket = new ServerSocket(port, BACKLOG, address);
+    }
+
+    public GameServer(int port) throws IOException {
+        this(port, InetAddress.getLoopbackAddress());
+    }
+
+    public synchronized void start() {
+        if (acceptor == null) {
+            acceptor = Thread.ofVirtual().name("game-server-acceptor").start(this::acceptLoop);
+        }
+    }
+
+    private void acceptLoop() {
+        Thread.Builder sessions = Thread.ofVirtual().name("game-session-", 0);
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sessions.start(new GameSession(socket, stats));
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public ServerStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = 7878;
+        InetAddress address = InetAddress.getLoopbackAddress();
+        int reportSeconds = 5;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--bind=")) {
+                address = InetAddress.getByName(arg.substring("--bind=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportSeconds = Integer.parseInt(arg.substring("--report=".length()));
+            } else {
+                System.err.println("Usage: GameServer [--port=7878] [--bind=address] [--report=seconds]");
+                System.exit(2);
+            }
+        }
+
+        GameServer server = new GameServer(port, address);
+        server.start();
+        System.out.println("Listening on " + address.getHostAddress() + ":" + server.port());
+        ServerStats stats = server.stats();
+        long lastMoves = 0;
+        while (true) {
+            Thread.sleep(reportSeconds * 1000L);
+            long moves = stats.moves();
+            System.out.printf("sessions=%d moves/s=%.0f p99=%.1fus%n", stats.activeSessions(),
+                    (moves - lastMoves) / (double) reportSeconds, stats.moveLatency().percentile(99) / 1000.0);
+            lastMoves = moves;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.checkers.server;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.GameTracker;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.MoveNotation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One client connection holding one game. Each request is a line and gets exactly one
+ * line back:
+ *
+ * <pre>
+ * NEW [fen]      start a game, from the initial position unless a FEN is given -> OK fen
+ * MOVE 22-18     play a move -> OK fen, or when it ends the game
+ *                WIN white|black fen or DRAW repetition|no-progress fen
+ * MOVES          list the legal moves -> MOVES 22-18 21-17 ...
+ * BOARD          show the position -> BOARD fen
+ * STATS          server counters -> STATS sessions=... moves/s=... p99=...
+ * QUIT           close the connection -> BYE
+ * </pre>
+ *
+ * Anything that cannot be done is answered with {@code ERR reason}. Once a game is
+ * over, moves are refused and a client that does not start a new game within
+ * {@value #FINISHED_IDLE_MILLIS} ms is disconnected.
+ */
+class GameSession implements Runnable {
+
+    static final int FINISHED_IDLE_MILLIS = 5_000;
+
+    private final Socket socket;
+    private final ServerStats stats;
+    private final Board board = Board.initial();
+    private final MoveList moves = new MoveList();
+    private final GameTracker tracker = new GameTracker();
+    private boolean finished;
+
+    GameSession(Socket socket, ServerStats stats) {
+        this.socket = socket;
+        this.stats = stats;
+    }
+
+    @Override
+    public void run() {
+        stats.sessionOpened();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = handle(line.trim());
+                out.write(reply);
+                out.write('\n');
+                out.flush();
+                if (reply.equals("BYE")) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; nothing to clean up beyond the socket.
+        } finally {
+            stats.sessionClosed();
+        }
+    }
+
+    String handle(String line) {
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase();
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+        return switch (command) {
+            case "NEW" -> newGame(argument);
+            case "MOVE" -> move(argument);
+            case "MOVES" -> listMoves();
+            case "BOARD" -> "BOARD " + Fen.format(board);
+            case "STATS" -> "STATS " + stats;
+            case "QUIT" -> "BYE";
+            default -> "ERR unknown command " + command;
+        };
+    }
+
+    private String newGame(String fen) {
+        try {
+            board.copyFrom(fen.isEmpty() ? Board.initial() : Fen.parse(fen));
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+        tracker.start(board);
+        setFinished(false);
+        return "OK " + Fen.format(board);
+    }
+
+    private String move(String notation) {
+        if (finished) {
+            return "ERR game over";
+        }
+        long start = System.nanoTime();
+        long move = MoveNotation.parse(board, notation, moves);
+        if (move == Move.NONE) {
+            return "ERR illegal move " + notation;
+        }
+        if (move == MoveNotation.AMBIGUOUS) {
+            return "ERR ambiguous move " + notation;
+        }
+        board.makeMove(move);
+        tracker.played(board, move);
+        MoveGenerator.generate(board, moves);
+        GameTracker.Status status = tracker.status(moves.size());
+        String fen = Fen.format(board);
+        String reply = switch (status) {
+            case IN_PROGRESS -> "OK " + fen;
+            case WHITE_WINS -> "WIN white " + fen;
+            case BLACK_WINS -> "WIN black " + fen;
+            case DRAW_BY_REPETITION -> "DRAW repetition " + fen;
+            case DRAW_BY_NO_PROGRESS -> "DRAW no-progress " + fen;
+        };
+        stats.moveProcessed(System.nanoTime() - start);
+        if (status.isOver()) {
+            stats.gameFinished();
+            setFinished(true);
+        }
+        return reply;
+    }
+
+    /**
+     * Marks the game over or not, and gives an idle client of a finished game only a
+     * short while before the connection is closed.
+     */
+    private void setFinished(boolean finished) {
+        this.finished = finished;
+        try {
+            socket.setSoTimeout(finished ? FINISHED_IDLE_MILLIS : 0);
+        } catch (SocketException e) {
+            // The socket is already closed; the read loop will notice.
+        }
+    }
+
+    private String listMoves() {
+        MoveGenerator.generate(board, moves);
+        StringBuilder reply = new StringBuilder("MOVES");
+        for (int i = 0; i < moves.size(); i++) {
+            reply.append(' ').append(MoveNotation.format(board, moves.get(i), moves));
+        }
+        return reply.toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.checkers.server;
+
+import com.checkers.metrics.Histogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link GameServer} with many simultaneous sessions, each playing random
+ * legal moves, to measure its throughput and latency.
+ *
+ * <p>Run with {@code java com.checkers.server.LoadClient [--host=localhost] [--port=7878] [--sessions=1000] [--games=5]};
+ * without {@code --port} it starts its own server on a free loopback port.
+ */
+public class LoadClient {
+
+    private static final int MAX_PLIES = 200;
+
+    private final InetAddress host;
+    private final int port;
+    private final LongAdder moves = new LongAdder();
+    private final Histogram roundTrips = new Histogram();
+
+    public LoadClient(InetAddress host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Plays the games on one virtual thread per session and waits for all of them.
+     */
+    public void run(int sessions, int gamesPerSession) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            long seed = i;
+            threads.add(Thread.ofVirtual().start(() -> playSession(seed, gamesPerSession)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void playSession(long seed, int games) {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            for (int game = 0; game < games; game++) {
+                request(in, out, "NEW");
+                for (int ply = 0; ply < MAX_PLIES; ply++) {
+                    String[] legal = request(in, out, "MOVES").split(" ");
+                    if (legal.length < 2) {
+                        break;
+                    }
+                    long start = System.nanoTime();
+                    String reply = request(in, out, "MOVE " + legal[1 + random.nextInt(legal.length - 1)]);
+                    roundTrips.record(System.nanoTime() - start);
+                    if (reply.startsWith("ERR")) {
+                        throw new IllegalStateException("Server refused a listed move: " + reply);
+                    }
+                    moves.increment();
+                    if (reply.startsWith("WIN") || reply.startsWith("DRAW")) {
+                        break;
+                    }
+                }
+            }
+            request(in, out, "QUIT");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String request(BufferedReader in, Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null) {
+            throw new IOException("Server closed the connection");
+        }
+        return reply;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = 0;
+        int sessions = 1000;
+        int games = 5;
+        for (String arg : args) {
+            if (arg.startsWith("--host=")) {
+                host = arg.substring("--host=".length());
+            } else if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--sessions=")) {
+                sessions = Integer.parseInt(arg.substring("--sessions=".length()));
+            } else if (arg.startsWith("--games=")) {
+                games = Integer.parseInt(arg.substring("--games=".length()));
+            }
+        }
+
+        GameServer server = null;
+        if (port == 0) {
+            server = new GameServer(0);
+            server.start();
+            port = server.port();
+        }
+        LoadClient client = new LoadClient(InetAddress.getByName(host), port);
+        long start = System.nanoTime();
+        client.run(sessions, games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d sessions, %d moves in %.2f s: %.0f moves/s, round trip p50=%.1fus p99=%.1fus%n",
+                sessions, client.moves.sum(), seconds, client.moves.sum() / seconds,
+                client.roundTrips.percentile(50) / 1000.0, client.roundTrips.percentile(99) / 1000.0);
+        if (server != null) {
+            System.out.println("Server: " + server.stats());
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.checkers.server;
+
+import com.checkers.metrics.Histogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by every session of a {@link GameServer}.
+ */
+public class ServerStats {
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder totalSessions = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final Histogram moveLatency = new Histogram();
+    private final long startNanos = System.nanoTime();
+
+    void sessionOpened() {
+        activeSessions.incrementAndGet();
+        totalSessions.increment();
+    }
+
+    void sessionClosed() {
+        activeSessions.decrementAndGet();
+    }
+
+    void moveProcessed(long nanos) {
+        moves.increment();
+        moveLatency.record(nanos);
+    }
+
+    void gameFinished() {
+        gamesFinished.increment();
+    }
+
+    public int activeSessions() {
+        return activeSessions.get();
+    }
+
+    public long totalSessions() {
+        return totalSessions.sum();
+    }
+
+    public long moves() {
+        return moves.sum();
+    }
+
+    public long gamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    public Histogram moveLatency() {
+        return moveLatency;
+    }
+
+    public double movesPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed > 0 ? moves() * 1_000_000_000.0 / elapsed : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sessions=%d total=%d games=%d moves=%d moves/s=%.0f p99=%.1fus", activeSessions(),
+                totalSessions(), gamesFinished(), moves(), movesPerSecond(), moveLatency.percentile(99) / 1000.0);
+    }
+}
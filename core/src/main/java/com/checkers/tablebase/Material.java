@@ -0,0 +1,45 @@
+package com.checkers.tablebase;
+
+import com.checkers.core.Board;
+
+/**
+ * A piece signature: how many men and kings each side has. Each material has its
+ * own tablebase file.
+ */
+public record Material(int whiteMen, int whiteKings, int blackMen, int blackKings) {
+
+    public static Material of(Board board) {
+        int kings = board.kings();
+        return new Material(
+                Integer.bitCount(board.whitePieces() & ~kings), Integer.bitCount(board.whitePieces() & kings),
+                Integer.bitCount(board.blackPieces() & ~kings), Integer.bitCount(board.blackPieces() & kings));
+    }
+
+    public int pieceCount() {
+        return whiteMen + whiteKings + blackMen + blackKings;
+    }
+
+    public int menCount() {
+        return whiteMen + blackMen;
+    }
+
+    /**
+     * @return A dense key in {@code [0, 65536)}, used to index loaded tables.
+     */
+    public int key() {
+        return key(whiteMen, whiteKings, blackMen, blackKings);
+    }
+
+    static int key(int whiteMen, int whiteKings, int blackMen, int blackKings) {
+        return whiteMen | whiteKings << 4 | blackMen << 8 | blackKings << 12;
+    }
+
+    public String fileName() {
+        return "W" + whiteMen + "K" + whiteKings + "-B" + blackMen + "K" + blackKings + ".tb";
+    }
+
+    @Override
+    public String toString() {
+        return fileName().substring(0, fileName().length() - 3);
+    }
+}
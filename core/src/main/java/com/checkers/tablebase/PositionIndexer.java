@@ -0,0 +1,151 @@
+package com.checkers.tablebase;
+
+import com.checkers.core.Board;
+import com.checkers.core.Squares;
+
+/**
+ * A perfect index over every placement of a {@link Material} with either side to
+ * move. The white men, white kings, black men and black kings are each ranked as
+ * a combination of the squares the earlier groups left free; the four ranks and
+ * the side to move are then combined in mixed radix.
+ */
+final class PositionIndexer {
+
+    private static final long[][] BINOMIAL = new long[Squares.COUNT + 1][Squares.COUNT + 1];
+
+    static {
+        for (int n = 0; n <= Squares.COUNT; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private final Material material;
+    private final long whiteKingCombinations;
+    private final long blackMenCombinations;
+    private final long blackKingCombinations;
+    private final long size;
+
+    PositionIndexer(Material material) {
+        this.material = material;
+        int free = Squares.COUNT;
+        long whiteMenCombinations = BINOMIAL[free][material.whiteMen()];
+        free -= material.whiteMen();
+        this.whiteKingCombinations = BINOMIAL[free][material.whiteKings()];
+        free -= material.whiteKings();
+        this.blackMenCombinations = BINOMIAL[free][material.blackMen()];
+        free -= material.blackMen();
+        this.blackKingCombinations = BINOMIAL[free][material.blackKings()];
+        this.size = whiteMenCombinations * whiteKingCombinations * blackMenCombinations * blackKingCombinations * 2;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * @param board A position with exactly this indexer's material.
+     */
+    long index(Board board) {
+        int kings = board.kings();
+        int whiteMen = board.whitePieces() & ~kings;
+        int whiteKings = board.whitePieces() & kings;
+        int blackMen = board.blackPieces() & ~kings;
+        int blackKings = board.blackPieces() & kings;
+
+        int free = -1;
+        long index = rank(whiteMen, free);
+        free &= ~whiteMen;
+        index = index * whiteKingCombinations + rank(whiteKings, free);
+        free &= ~whiteKings;
+        index = index * blackMenCombinations + rank(blackMen, free);
+        free &= ~blackMen;
+        index = index * blackKingCombinations + rank(blackKings, free);
+        return index * 2 + (board.isWhiteToMove() ? 0 : 1);
+    }
+
+    /**
+     * Sets {@code board} to the position with the given index.
+     */
+    void decode(long index, Board board) {
+        boolean whiteToMove = (index & 1) == 0;
+        index >>>= 1;
+        long blackKingRank = index % blackKingCombinations;
+        index /= blackKingCombinations;
+        long blackMenRank = index % blackMenCombinations;
+        index /= blackMenCombinations;
+        long whiteKingRank = index % whiteKingCombinations;
+        long whiteMenRank = index / whiteKingCombinations;
+
+        int free = -1;
+        int whiteMen = unrank(whiteMenRank, material.whiteMen(), free);
+        free &= ~whiteMen;
+        int whiteKings = unrank(whiteKingRank, material.whiteKings(), free);
+        free &= ~whiteKings;
+        int blackMen = unrank(blackMenRank, material.blackMen(), free);
+        free &= ~blackMen;
+        int blackKings = unrank(blackKingRank, material.blackKings(), free);
+
+        board.clear();
+        place(board, whiteMen, true, false);
+        place(board, whiteKings, true, true);
+        place(board, blackMen, false, false);
+        place(board, blackKings, false, true);
+        board.setWhiteToMove(whiteToMove);
+    }
+
+    /**
+     * @return Whether the position can occur in a game: no man stands on its own
+     * promotion row.
+     */
+    static boolean isReachable(Board board) {
+        int men = ~board.kings();
+        return (board.whitePieces() & men & 0x0000000F) == 0 && (board.blackPieces() & men & 0xF0000000) == 0;
+    }
+
+    private static void place(Board board, int squares, boolean white, boolean king) {
+        for (; squares != 0; squares &= squares - 1) {
+            board.place(Integer.numberOfTrailingZeros(squares), white, king);
+        }
+    }
+
+    /**
+     * Ranks {@code squares} as a combination of the squares in {@code free}, after
+     * renumbering the free squares 0, 1, 2, ...
+     */
+    private static long rank(int squares, int free) {
+        long rank = 0;
+        int k = 1;
+        for (; squares != 0; squares &= squares - 1, k++) {
+            int square = Integer.numberOfTrailingZeros(squares);
+            int position = Integer.bitCount(free & (Squares.bit(square) - 1));
+            rank += BINOMIAL[position][k];
+        }
+        return rank;
+    }
+
+    private static int unrank(long rank, int count, int free) {
+        int squares = 0;
+        for (int k = count; k >= 1; k--) {
+            int position = k - 1;
+            while (BINOMIAL[position + 1][k] <= rank) {
+                position++;
+            }
+            rank -= BINOMIAL[position][k];
+            squares |= Squares.bit(select(free, position));
+        }
+        return squares;
+    }
+
+    /**
+     * @return The square of the {@code n}-th (0-based) set bit of {@code bits}.
+     */
+    private static int select(int bits, int n) {
+        for (int i = 0; i < n; i++) {
+            bits &= bits - 1;
+        }
+        return Integer.numberOfTrailingZeros(bits);
+    }
+}
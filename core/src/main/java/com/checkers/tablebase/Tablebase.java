@@ -0,0 +1,112 @@
+package com.checkers.tablebase;
+
+import com.checkers.core.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Win/draw/loss lookups from tablebase files written by {@link TablebaseGenerator}.
+ * Files are memory-mapped, so a probe reads two bits straight from the page cache
+ * without copying. Instances are safe for concurrent probing once opened.
+ *
+ * <p>File layout: a {@value #HEADER_BYTES}-byte header (magic, the four piece counts
+ * and the position count), then one 2-bit value per position index, four per byte.
+ */
+public class Tablebase {
+
+    /** The position is not covered by any loaded table. */
+    public static final int UNKNOWN = -1;
+    public static final int DRAW = 0;
+    /** The side to move wins with best play. */
+    public static final int WIN = 1;
+    /** The side to move loses with best play. */
+    public static final int LOSS = 2;
+
+    static final int MAGIC = 0x434B5442;
+    static final int HEADER_BYTES = 16;
+
+    private final ByteBuffer[] tables = new ByteBuffer[1 << 16];
+    private final PositionIndexer[] indexers = new PositionIndexer[1 << 16];
+    private int maxPieces;
+
+    /**
+     * Maps every {@code *.tb} file in {@code directory}.
+     */
+    public static Tablebase open(Path directory) throws IOException {
+        Tablebase tablebase = new Tablebase();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.tb")) {
+                for (Path file : files) {
+                    tablebase.load(file);
+                }
+            }
+        }
+        return tablebase;
+    }
+
+    /**
+     * Maps one table file and makes it available to {@link #probe(Board)}.
+     */
+    public void load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a tablebase file: " + file);
+            }
+            Material material = new Material(buffer.get(4), buffer.get(5), buffer.get(6), buffer.get(7));
+            PositionIndexer indexer = new PositionIndexer(material);
+            if (buffer.getLong(8) != indexer.size() || channel.size() < HEADER_BYTES + (indexer.size() + 3) / 4) {
+                throw new IOException("Truncated tablebase file: " + file);
+            }
+            int key = material.key();
+            indexers[key] = indexer;
+            tables[key] = buffer;
+            maxPieces = Math.max(maxPieces, material.pieceCount());
+        }
+    }
+
+    public boolean contains(Material material) {
+        return tables[material.key()] != null;
+    }
+
+    /**
+     * @return The largest piece count covered by any loaded table.
+     */
+    public int maxPieces() {
+        return maxPieces;
+    }
+
+    /**
+     * @return {@link #WIN}, {@link #DRAW} or {@link #LOSS} for the side to move, or
+     * {@link #UNKNOWN} if the position's material is not loaded.
+     */
+    public int probe(Board board) {
+        if (board.whitePieces() == 0 || board.blackPieces() == 0) {
+            boolean sideToMoveHasPieces = (board.isWhiteToMove() ? board.whitePieces() : board.blackPieces()) != 0;
+            return sideToMoveHasPieces ? WIN : LOSS;
+        }
+        int kings = board.kings();
+        int key = Material.key(
+                Integer.bitCount(board.whitePieces() & ~kings), Integer.bitCount(board.whitePieces() & kings),
+                Integer.bitCount(board.blackPieces() & ~kings), Integer.bitCount(board.blackPieces() & kings));
+        ByteBuffer table = tables[key];
+        if (table == null) {
+            return UNKNOWN;
+        }
+        return read(table, indexers[key].index(board));
+    }
+
+    static int read(ByteBuffer table, long index) {
+        int packed = table.get(HEADER_BYTES + (int) (index >>> 2));
+        return packed >>> ((int) (index & 3) * 2) & 3;
+    }
+}
@@ -0,0 +1,219 @@
+package com.checkers.tablebase;
+
+import com.checkers.core.Board;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Builds win/draw/loss tablebases for every material with up to a given number of
+ * pieces. Tables are solved smallest first, so every capture or promotion leads
+ * into a table that is already on disk. Within a table, positions are solved by
+ * backward induction: a position is a win if some move reaches a lost position
+ * for the opponent, a loss if every move reaches a won one, and the passes repeat
+ * until nothing changes; what is left is drawn.
+ *
+ * <p>Each finished table is written to a temporary file and renamed into place, so
+ * an interrupted run resumes by skipping the tables that already exist.
+ *
+ * <p>Run with {@code java com.checkers.tablebase.TablebaseGenerator <directory> [maxPieces] [threads]}.
+ */
+public class TablebaseGenerator {
+
+    private static final byte UNSOLVED = 3;
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int MAX_SUPPORTED_PIECES = 7;
+
+    private final Path directory;
+    private final int maxPieces;
+    private final ForkJoinPool pool;
+    private final Tablebase solved;
+
+    /**
+     * @param directory Where the table files are written and resumed from.
+     * @param maxPieces The largest total piece count to solve.
+     * @param threads   The number of worker threads.
+     */
+    public TablebaseGenerator(Path directory, int maxPieces, int threads) throws IOException {
+        if (maxPieces < 2 || maxPieces > MAX_SUPPORTED_PIECES) {
+            throw new IllegalArgumentException("maxPieces must be between 2 and " + MAX_SUPPORTED_PIECES);
+        }
+        this.directory = directory;
+        this.maxPieces = maxPieces;
+        this.pool = new ForkJoinPool(threads);
+        Files.createDirectories(directory);
+        this.solved = Tablebase.open(directory);
+    }
+
+    /**
+     * @return Every material with at least one piece per side and at most
+     * {@code maxPieces} pieces, in an order where each table's successors come first.
+     */
+    static List<Material> materialsInSolvingOrder(int maxPieces) {
+        List<Material> materials = new ArrayList<>();
+        for (int total = 2; total <= maxPieces; total++) {
+            for (int white = 1; white < total; white++) {
+                int black = total - white;
+                for (int whiteMen = 0; whiteMen <= white; whiteMen++) {
+                    for (int blackMen = 0; blackMen <= black; blackMen++) {
+                        materials.add(new Material(whiteMen, white - whiteMen, blackMen, black - blackMen));
+                    }
+                }
+            }
+        }
+        // Captures lower the piece count and promotions lower the men count.
+        materials.sort(Comparator.comparingInt(Material::pieceCount).thenComparingInt(Material::menCount));
+        return materials;
+    }
+
+    public void generateAll() throws IOException {
+        for (Material material : materialsInSolvingOrder(maxPieces)) {
+            if (solved.contains(material)) {
+                System.out.println(material + " already solved, skipping");
+                continue;
+            }
+            long startTime = System.nanoTime();
+            byte[] values = solve(material);
+            Path file = write(material, values);
+            solved.load(file);
+            System.out.printf("%s solved: %,d positions in %.1f s%n",
+                    material, values.length, (System.nanoTime() - startTime) / 1e9);
+        }
+    }
+
+    private byte[] solve(Material material) {
+        PositionIndexer indexer = new PositionIndexer(material);
+        byte[] values = new byte[(int) indexer.size()];
+        Arrays.fill(values, UNSOLVED);
+        int chunks = (int) ((indexer.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        AtomicBoolean changed = new AtomicBoolean(true);
+        while (changed.get()) {
+            changed.set(false);
+            runInPool(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                if (solveChunk(indexer, values, chunk)) {
+                    changed.set(true);
+                }
+            }));
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == UNSOLVED) {
+                values[i] = Tablebase.DRAW;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Tries to settle every unsolved position in one chunk. Other workers may write
+     * neighbouring entries concurrently; reading a stale value only postpones a
+     * result to the next pass, which always follows any pass that changed something.
+     *
+     * @return Whether any position was settled.
+     */
+    private boolean solveChunk(PositionIndexer indexer, byte[] values, int chunk) {
+        Board board = new Board();
+        MoveList moves = new MoveList();
+        boolean changed = false;
+        int end = (int) Math.min(values.length, (long) (chunk + 1) * CHUNK_SIZE);
+        for (int index = chunk * CHUNK_SIZE; index < end; index++) {
+            if (values[index] != UNSOLVED) {
+                continue;
+            }
+            indexer.decode(index, board);
+            if (!PositionIndexer.isReachable(board)) {
+                values[index] = Tablebase.DRAW;
+                continue;
+            }
+            byte value = evaluate(board, moves, indexer, values);
+            if (value != UNSOLVED) {
+                values[index] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private byte evaluate(Board board, MoveList moves, PositionIndexer indexer, byte[] values) {
+        int count = MoveGenerator.generate(board, moves);
+        if (count == 0) {
+            return Tablebase.LOSS;
+        }
+        boolean allWon = true;
+        for (int i = 0; i < count; i++) {
+            long move = moves.get(i);
+            board.make(move);
+            // Only captures and promotions change the material.
+            int successor = !Move.isCapture(move) && !Move.isPromotion(move)
+                    ? values[(int) indexer.index(board)]
+                    : solved.probe(board);
+            board.unmake();
+            if (successor == Tablebase.LOSS) {
+                return Tablebase.WIN;
+            }
+            if (successor != Tablebase.WIN) {
+                allWon = false;
+            }
+        }
+        return allWon ? Tablebase.LOSS : UNSOLVED;
+    }
+
+    private Path write(Material material, byte[] values) throws IOException {
+        byte[] packed = new byte[(values.length + 3) / 4];
+        for (int i = 0; i < values.length; i++) {
+            packed[i >>> 2] |= (byte) (values[i] << ((i & 3) * 2));
+        }
+        ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_BYTES);
+        header.putInt(Tablebase.MAGIC)
+                .put((byte) material.whiteMen()).put((byte) material.whiteKings())
+                .put((byte) material.blackMen()).put((byte) material.blackKings())
+                .putLong(values.length);
+
+        Path target = directory.resolve(material.fileName());
+        Path temporary = directory.resolve(material.fileName() + ".part");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            out.write(header.array());
+            out.write(packed);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    private void runInPool(Runnable task) {
+        try {
+            pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Solving failed", e.getCause());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TablebaseGenerator <directory> [maxPieces] [threads]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        new TablebaseGenerator(directory, maxPieces, threads).generateAll();
+    }
+}
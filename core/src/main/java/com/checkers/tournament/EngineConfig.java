@@ -0,0 +1,58 @@
+package com.checkers.tournament;
+
+import com.checkers.engine.EvalWeights;
+import com.checkers.engine.SearchEngine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * How one side of a match searches.
+ *
+ * @param name           A label for reports.
+ * @param maxDepth       The deepest iteration searched.
+ * @param moveTimeMillis The time limit per move.
+ * @param tableMegabytes The size of the engine's own transposition table.
+ * @param weights        The evaluation weights.
+ */
+public record EngineConfig(String name, int maxDepth, long moveTimeMillis, int tableMegabytes, EvalWeights weights) {
+
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    /**
+     * Parses a spec such as {@code depth=6}, {@code time=20} or {@code depth=8,time=50,hash=32,weights=tuned.txt};
+     * whatever is left out is unlimited (depth, time) or the default (hash, weights).
+     *
+     * @throws IOException If the weights file cannot be read.
+     */
+    public static EngineConfig parse(String name, String spec) throws IOException {
+        int depth = SearchEngine.MAX_PLY - 1;
+        long time = Long.MAX_VALUE / 4;
+        int hash = DEFAULT_TABLE_MEGABYTES;
+        EvalWeights weights = EvalWeights.DEFAULT;
+        if (!spec.isBlank()) {
+            for (String part : spec.split(",")) {
+                String[] pair = part.split("=", 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Expected key=value in engine spec: " + part);
+                }
+                String value = pair[1].trim();
+                switch (pair[0].trim()) {
+                    case "depth" -> depth = Integer.parseInt(value);
+                    case "time" -> time = Integer.parseInt(value);
+                    case "hash" -> hash = Integer.parseInt(value);
+                    case "weights" -> weights = EvalWeights.load(Path.of(value));
+                    default -> throw new IllegalArgumentException("Unknown engine option: " + pair[0]);
+                }
+            }
+        }
+        return new EngineConfig(name, depth, time, hash, weights);
+    }
+
+    @Override
+    public String toString() {
+        String time = moveTimeMillis < Long.MAX_VALUE / 4 ? ", " + moveTimeMillis + " ms" : "";
+        String tuned = weights.equals(EvalWeights.DEFAULT) ? "" : ", " + weights;
+        return name + " (depth " + maxDepth + time + tuned + ")";
+    }
+}
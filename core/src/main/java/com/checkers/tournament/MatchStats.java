@@ -0,0 +1,101 @@
+package com.checkers.tournament;
+
+/**
+ * Win/draw/loss totals from the first engine's point of view, with the Elo estimate
+ * and a sequential probability ratio test (SPRT) on them. The SPRT uses the normal
+ * approximation to the score distribution, as common engine-testing frameworks do.
+ */
+public class MatchStats {
+
+    private int wins;
+    private int draws;
+    private int losses;
+
+    public synchronized void add(double score) {
+        if (score > 0.5) {
+            wins++;
+        } else if (score < 0.5) {
+            losses++;
+        } else {
+            draws++;
+        }
+    }
+
+    public synchronized int games() {
+        return wins + draws + losses;
+    }
+
+    public synchronized int wins() {
+        return wins;
+    }
+
+    public synchronized int draws() {
+        return draws;
+    }
+
+    public synchronized int losses() {
+        return losses;
+    }
+
+    public synchronized double score() {
+        int games = games();
+        return games == 0 ? 0.5 : (wins + draws * 0.5) / games;
+    }
+
+    /**
+     * @return The Elo difference the score implies, positive when the first engine is stronger.
+     */
+    public synchronized double elo() {
+        return scoreToElo(score());
+    }
+
+    /**
+     * @return Half the width of the 95% confidence interval of {@link #elo()}.
+     */
+    public synchronized double eloMargin() {
+        int games = games();
+        if (games < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double deviation = Math.sqrt(variance() / games);
+        double score = score();
+        return (scoreToElo(score + 1.96 * deviation) - scoreToElo(score - 1.96 * deviation)) / 2;
+    }
+
+    /**
+     * @return The log-likelihood ratio of "the first engine is elo1 stronger" against
+     * "it is elo0 stronger".
+     */
+    public synchronized double llr(double elo0, double elo1) {
+        double variance = variance();
+        int games = games();
+        if (games == 0 || variance == 0) {
+            return 0;
+        }
+        double score0 = eloToScore(elo0);
+        double score1 = eloToScore(elo1);
+        return games * (score1 - score0) * (2 * score() - score0 - score1) / (2 * variance);
+    }
+
+    private double variance() {
+        int games = games();
+        double score = score();
+        return (wins * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score)
+                + losses * score * score) / games;
+    }
+
+    static double scoreToElo(double score) {
+        double clamped = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+
+    static double eloToScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("+%d =%d -%d  score %.1f%%  Elo %+.1f +/- %.1f", wins, draws, losses,
+                score() * 100, elo(), eloMargin());
+    }
+}
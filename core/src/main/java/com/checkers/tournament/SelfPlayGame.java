@@ -0,0 +1,73 @@
+package com.checkers.tournament;
+
+import com.checkers.core.Board;
+import com.checkers.core.GameTracker;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.engine.SearchEngine;
+import com.checkers.engine.SearchResult;
+
+import java.util.Arrays;
+
+/**
+ * Plays one engine-versus-engine game. Legal moves, capture continuation and
+ * promotion all come from {@link MoveGenerator}, the same rules the UI enforces. A
+ * {@link GameTracker} ends the game when a side has no move, on a threefold
+ * repetition or after forty moves each without progress; it is also drawn at
+ * {@value #MAX_PLIES} plies.
+ */
+public final class SelfPlayGame {
+
+    public static final int WHITE_WINS = 1;
+    public static final int BLACK_WINS = 2;
+    public static final int DRAW = 3;
+
+    static final int MAX_PLIES = 300;
+
+    /**
+     * @param result One of {@link #WHITE_WINS}, {@link #BLACK_WINS} or {@link #DRAW}.
+     * @param start  The position the engines started from.
+     * @param moves  The moves the engines played.
+     * @param reason Why the game ended.
+     */
+    public record Outcome(int result, Board start, long[] moves, String reason) {
+
+        public int plies() {
+            return moves.length;
+        }
+    }
+
+    private SelfPlayGame() {
+    }
+
+    public static Outcome play(Board start, SearchEngine white, EngineConfig whiteConfig,
+                               SearchEngine black, EngineConfig blackConfig) {
+        Board board = new Board(start);
+        MoveList moves = new MoveList();
+        long[] played = new long[MAX_PLIES];
+        GameTracker tracker = new GameTracker();
+        tracker.start(board);
+
+        for (int ply = 0; ply < MAX_PLIES; ply++) {
+            MoveGenerator.generate(board, moves);
+            GameTracker.Status status = tracker.status(moves.size());
+            if (status.isOver()) {
+                int result = status.isDraw() ? DRAW : status == GameTracker.Status.WHITE_WINS ? WHITE_WINS : BLACK_WINS;
+                return new Outcome(result, start, Arrays.copyOf(played, ply), status.reason());
+            }
+            boolean whiteToMove = board.isWhiteToMove();
+            SearchEngine engine = whiteToMove ? white : black;
+            EngineConfig config = whiteToMove ? whiteConfig : blackConfig;
+            long move = moves.size() == 1 ? moves.get(0)
+                    : chosenMove(engine.search(board, config.maxDepth(), config.moveTimeMillis()), moves);
+            board.makeMove(move);
+            played[ply] = move;
+            tracker.played(board, move);
+        }
+        return new Outcome(DRAW, start, played, "move limit");
+    }
+
+    private static long chosenMove(SearchResult result, MoveList moves) {
+        return result.hasMove() ? result.bestMove() : moves.get(0);
+    }
+}
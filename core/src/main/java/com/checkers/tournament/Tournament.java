@@ -0,0 +1,218 @@
+package com.checkers.tournament;
+
+import com.checkers.core.Board;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.engine.SearchEngine;
+import com.checkers.engine.TranspositionTable;
+import com.checkers.gamelog.MoveLogWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs engine-versus-engine matches on a pool of worker threads. Games come in pairs
+ * that share a randomised opening, with the engines swapping colours, so neither side
+ * profits from a lucky opening. Each worker keeps its own pair of engines and clears
+ * their tables before every game.
+ *
+ * <p>Run with {@code java com.checkers.tournament.Tournament [--games=1000] [--a=time=20] [--b=depth=6]
+ * [--threads=N] [--opening-plies=4] [--seed=1] [--sprt=0,10] [--log=games.log]}. With
+ * {@code --sprt=elo0,elo1} the match stops as soon as the test accepts either hypothesis
+ * (alpha = beta = 0.05).
+ */
+public class Tournament {
+
+    private static final double SPRT_ALPHA = 0.05;
+    private static final double SPRT_BETA = 0.05;
+
+    private final EngineConfig first;
+    private final EngineConfig second;
+    private final int threads;
+    private final int openingPlies;
+    private final long seed;
+    private final MoveLogWriter log;
+
+    /**
+     * @param first        The engine whose results are reported.
+     * @param second       Its opponent.
+     * @param threads      The number of games played at once.
+     * @param openingPlies Random plies played from the start position before the engines take over.
+     * @param seed         Seeds the openings, so a match can be repeated.
+     * @param log          Receives every finished game, or {@code null}.
+     */
+    public Tournament(EngineConfig first, EngineConfig second, int threads, int openingPlies, long seed,
+                      MoveLogWriter log) {
+        this.first = first;
+        this.second = second;
+        this.threads = threads;
+        this.openingPlies = openingPlies;
+        this.seed = seed;
+        this.log = log;
+    }
+
+    /**
+     * One worker's engines; created on first use by each pool thread.
+     */
+    private final class Engines {
+        final TranspositionTable firstTable = new TranspositionTable(first.tableMegabytes());
+        final TranspositionTable secondTable = new TranspositionTable(second.tableMegabytes());
+        final SearchEngine firstEngine = new SearchEngine(firstTable);
+        final SearchEngine secondEngine = new SearchEngine(secondTable);
+
+        Engines() {
+            firstEngine.setWeights(first.weights());
+            secondEngine.setWeights(second.weights());
+        }
+    }
+
+    /**
+     * @param games The number of games, rounded up to an even number.
+     * @param elo0  The SPRT null hypothesis, or {@code Double.NaN} for no test.
+     * @param elo1  The SPRT alternative hypothesis.
+     * @return The results from the first engine's point of view.
+     */
+    public MatchStats run(int games, double elo0, double elo1) throws InterruptedException {
+        int pairs = (games + 1) / 2;
+        MatchStats stats = new MatchStats();
+        ThreadLocal<Engines> engines = ThreadLocal.withInitial(Engines::new);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<Double> completion = new ExecutorCompletionService<>(pool);
+        double lowerBound = Math.log(SPRT_BETA / (1 - SPRT_ALPHA));
+        double upperBound = Math.log((1 - SPRT_BETA) / SPRT_ALPHA);
+        long startNanos = System.nanoTime();
+        try {
+            for (int pair = 0; pair < pairs; pair++) {
+                Board opening = randomOpening(new SplittableRandom(seed * 31 + pair));
+                completion.submit(() -> playGame(engines.get(), opening, true));
+                completion.submit(() -> playGame(engines.get(), opening, false));
+            }
+            int reportEvery = Math.max(1, pairs * 2 / 20);
+            for (int finished = 1; finished <= pairs * 2; finished++) {
+                Future<Double> game = completion.take();
+                stats.add(game.get());
+                if (finished % reportEvery == 0 || finished == pairs * 2) {
+                    report(stats, startNanos, elo0, elo1);
+                }
+                if (!Double.isNaN(elo0)) {
+                    double llr = stats.llr(elo0, elo1);
+                    if (llr <= lowerBound || llr >= upperBound) {
+                        System.out.printf("SPRT: %s accepted (LLR %.2f, bounds %.2f..%.2f)%n",
+                                llr >= upperBound ? "H1" : "H0", llr, lowerBound, upperBound);
+                        break;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return stats;
+    }
+
+    private void report(MatchStats stats, long startNanos, double elo0, double elo1) {
+        double minutes = (System.nanoTime() - startNanos) / 60e9;
+        String sprt = Double.isNaN(elo0) ? "" : String.format("  LLR %.2f", stats.llr(elo0, elo1));
+        System.out.printf("%5d games  %s%s  %.0f games/min%n", stats.games(), stats, sprt, stats.games() / minutes);
+    }
+
+    /**
+     * @return The result for the first engine: 1, 0.5 or 0.
+     */
+    private double playGame(Engines engines, Board opening, boolean firstPlaysWhite) throws IOException {
+        engines.firstTable.clear();
+        engines.secondTable.clear();
+        SelfPlayGame.Outcome outcome = firstPlaysWhite
+                ? SelfPlayGame.play(opening, engines.firstEngine, first, engines.secondEngine, second)
+                : SelfPlayGame.play(opening, engines.secondEngine, second, engines.firstEngine, first);
+        if (log != null) {
+            int result = switch (outcome.result()) {
+                case SelfPlayGame.WHITE_WINS -> MoveLogWriter.WHITE_WINS;
+                case SelfPlayGame.BLACK_WINS -> MoveLogWriter.BLACK_WINS;
+                default -> MoveLogWriter.DRAW;
+            };
+            log.appendGame(outcome.start(), outcome.moves(), outcome.plies(), result);
+        }
+        if (outcome.result() == SelfPlayGame.DRAW) {
+            return 0.5;
+        }
+        boolean whiteWon = outcome.result() == SelfPlayGame.WHITE_WINS;
+        return whiteWon == firstPlaysWhite ? 1.0 : 0.0;
+    }
+
+    /**
+     * Plays random moves from the start position, retrying if they end the game.
+     */
+    private Board randomOpening(SplittableRandom random) {
+        MoveList moves = new MoveList();
+        while (true) {
+            Board board = Board.initial();
+            boolean playable = true;
+            for (int ply = 0; ply < openingPlies && playable; ply++) {
+                MoveGenerator.generate(board, moves);
+                playable = !moves.isEmpty();
+                if (playable) {
+                    board.makeMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+            MoveGenerator.generate(board, moves);
+            if (playable && !moves.isEmpty()) {
+                return board;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int games = 1000;
+        String firstSpec = "time=20";
+        String secondSpec = "time=20";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int openingPlies = 4;
+        long seed = 1;
+        double elo0 = Double.NaN;
+        double elo1 = Double.NaN;
+        Path logFile = null;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--games=")) {
+                games = Integer.parseInt(value);
+            } else if (arg.startsWith("--a=")) {
+                firstSpec = value;
+            } else if (arg.startsWith("--b=")) {
+                secondSpec = value;
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--opening-plies=")) {
+                openingPlies = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--sprt=")) {
+                String[] bounds = value.split(",");
+                elo0 = Double.parseDouble(bounds[0]);
+                elo1 = Double.parseDouble(bounds[1]);
+            } else if (arg.startsWith("--log=")) {
+                logFile = Path.of(value);
+            } else {
+                System.err.println("Usage: Tournament [--games=N] [--a=spec] [--b=spec] [--threads=N] "
+                        + "[--opening-plies=N] [--seed=N] [--sprt=elo0,elo1] [--log=file]");
+                System.exit(2);
+            }
+        }
+
+        EngineConfig first = EngineConfig.parse("A", firstSpec);
+        EngineConfig second = EngineConfig.parse("B", secondSpec);
+        System.out.println(first + " vs " + second + ", " + threads + " threads");
+        try (MoveLogWriter log = logFile != null ? new MoveLogWriter(logFile) : null) {
+            MatchStats stats = new Tournament(first, second, threads, openingPlies, seed, log).run(games, elo0, elo1);
+            System.out.println("Final: " + stats);
+        }
+    }
+}
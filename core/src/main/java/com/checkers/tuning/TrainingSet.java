@@ -0,0 +1,154 @@
+package com.checkers.tuning;
+
+import com.checkers.core.Board;
+import com.checkers.core.Fen;
+import com.checkers.core.Move;
+import com.checkers.core.MoveGenerator;
+import com.checkers.core.MoveList;
+import com.checkers.core.MoveNotation;
+import com.checkers.engine.Evaluator;
+import com.checkers.gamelog.MoveLogReader;
+import com.checkers.gamelog.MoveLogWriter;
+import com.checkers.pdn.PdnGame;
+import com.checkers.pdn.PdnReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Positions from finished games, each stored as its evaluator features and the
+ * game's result. Every feature fits in a byte, so a position takes seven bytes and
+ * millions of them fit comfortably in memory.
+ *
+ * <p>Only quiet positions are kept: the first plies of each game are skipped, and so
+ * is any position where the side to move has a capture, since its static evaluation
+ * says little about the outcome. Results are read as {@code BookBuilder} reads them:
+ * PDN results from the first mover's point of view, move log results by colour.
+ */
+public final class TrainingSet {
+
+    /** Results, from white's point of view. */
+    static final byte BLACK_WON = 0;
+    static final byte DRAWN = 1;
+    static final byte WHITE_WON = 2;
+    private static final byte UNKNOWN = -1;
+
+    private final int skipPlies;
+    private final MoveList moves = new MoveList();
+    private final Board board = new Board();
+    private final int[] features = new int[Evaluator.FEATURE_COUNT];
+
+    private byte[] featureBytes = new byte[1 << 16];
+    private byte[] results = new byte[featureBytes.length / Evaluator.FEATURE_COUNT];
+    private int size;
+    private long gamesRead;
+
+    /**
+     * @param skipPlies The number of opening plies of each game to leave out.
+     */
+    public TrainingSet(int skipPlies) {
+        this.skipPlies = skipPlies;
+    }
+
+    public void addPdn(Path file) throws IOException {
+        try (PdnReader reader = new PdnReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            PdnGame game;
+            while ((game = reader.next()) != null) {
+                String fen = game.tag("FEN");
+                try {
+                    board.copyFrom(fen != null ? Fen.parse(fen) : Board.initial());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                byte result = switch (game.result()) {
+                    case "2-0", "1-0" -> board.isWhiteToMove() ? WHITE_WON : BLACK_WON;
+                    case "0-2", "0-1" -> board.isWhiteToMove() ? BLACK_WON : WHITE_WON;
+                    case "1-1", "1/2-1/2" -> DRAWN;
+                    default -> UNKNOWN;
+                };
+                if (result == UNKNOWN) {
+                    continue;
+                }
+                int ply = 0;
+                for (String token : game.moves()) {
+                    long move = MoveNotation.parse(board, token, moves);
+                    if (move == Move.NONE || move == MoveNotation.AMBIGUOUS) {
+                        break;
+                    }
+                    addIfQuiet(result, ply++);
+                    board.makeMove(move);
+                }
+                gamesRead++;
+            }
+        }
+    }
+
+    public void addMoveLog(Path file) throws IOException {
+        try (MoveLogReader reader = new MoveLogReader(file)) {
+            for (int game = 0; game < reader.gameCount(); game++) {
+                byte result = switch (reader.result(game)) {
+                    case MoveLogWriter.WHITE_WINS -> WHITE_WON;
+                    case MoveLogWriter.BLACK_WINS -> BLACK_WON;
+                    case MoveLogWriter.DRAW -> DRAWN;
+                    default -> UNKNOWN;
+                };
+                if (result == UNKNOWN) {
+                    continue;
+                }
+                board.copyFrom(reader.positionAt(game, 0));
+                long[] gameMoves = reader.moves(game);
+                for (int ply = 0; ply < gameMoves.length; ply++) {
+                    addIfQuiet(result, ply);
+                    board.makeMove(gameMoves[ply]);
+                }
+                gamesRead++;
+            }
+        }
+    }
+
+    private void addIfQuiet(byte result, int ply) {
+        if (ply < skipPlies) {
+            return;
+        }
+        moves.clear();
+        MoveGenerator.generateCaptures(board, moves);
+        if (!moves.isEmpty()) {
+            return;
+        }
+        if (size == results.length) {
+            results = Arrays.copyOf(results, size * 2);
+            featureBytes = Arrays.copyOf(featureBytes, size * 2 * Evaluator.FEATURE_COUNT);
+        }
+        Evaluator.features(board, features);
+        int offset = size * Evaluator.FEATURE_COUNT;
+        for (int i = 0; i < Evaluator.FEATURE_COUNT; i++) {
+            featureBytes[offset + i] = (byte) features[i];
+        }
+        results[size++] = result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long gamesRead() {
+        return gamesRead;
+    }
+
+    /**
+     * @return Feature {@code feature} of position {@code position}.
+     */
+    int feature(int position, int feature) {
+        return featureBytes[position * Evaluator.FEATURE_COUNT + feature];
+    }
+
+    /**
+     * @return The result of the position's game as a score for white: 0, 0.5 or 1.
+     */
+    double score(int position) {
+        return results[position] * 0.5;
+    }
+}
@@ -0,0 +1,252 @@
+package com.checkers.tuning;
+
+import com.checkers.engine.EvalWeights;
+import com.checkers.engine.Evaluator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fits {@link EvalWeights} to a {@link TrainingSet} by gradient descent. The
+ * evaluation of a position, turned into an expected score by a logistic curve, is
+ * compared with the result of its game, and the mean squared error over all
+ * positions is minimised. Each epoch splits the positions into one slice per
+ * thread; the slices' error and gradient sums are added up and the weights take
+ * one Adam step.
+ *
+ * <p>The curve's steepness is fitted once to the starting weights and then held
+ * fixed, which pins the scale of the weights to the starting man value.
+ *
+ * <p>Run with {@code java com.checkers.tuning.Tuner <out> [--start=weights.txt] [--epochs=500]
+ * [--rate=1.0] [--skip-plies=8] [--threads=N] <file>...}. Files ending in {@code .pdn} are
+ * read as PDN and anything else as a move log.
+ */
+public class Tuner implements AutoCloseable {
+
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double EPSILON = 1e-8;
+    private static final int FEATURES = Evaluator.FEATURE_COUNT;
+
+    private final TrainingSet positions;
+    private final ExecutorService pool;
+    private final int slices;
+    private double scale = 1.0;
+
+    /**
+     * @param positions The training positions.
+     * @param threads   The number of threads the error and gradient are computed on.
+     */
+    public Tuner(TrainingSet positions, int threads) {
+        this.positions = positions;
+        this.slices = threads;
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * @return The expected score for white of an evaluation, between 0 and 1.
+     */
+    private double expectedScore(double evaluation) {
+        return 1.0 / (1.0 + Math.pow(10.0, -scale * evaluation / 400.0));
+    }
+
+    /**
+     * Sums the squared error and, if {@code gradient} is set, its gradient over one slice.
+     *
+     * @return {@code [error, dError/dWeight...]}.
+     */
+    private double[] slice(double[] weights, int from, int to, boolean gradient) {
+        double[] sums = new double[FEATURES + 1];
+        double slope = Math.log(10.0) * scale / 400.0;
+        for (int position = from; position < to; position++) {
+            double evaluation = 0;
+            for (int i = 0; i < FEATURES; i++) {
+                evaluation += weights[i] * positions.feature(position, i);
+            }
+            double expected = expectedScore(evaluation);
+            double difference = expected - positions.score(position);
+            sums[0] += difference * difference;
+            if (gradient) {
+                double factor = 2 * difference * expected * (1 - expected) * slope;
+                for (int i = 0; i < FEATURES; i++) {
+                    sums[i + 1] += factor * positions.feature(position, i);
+                }
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * @return The mean squared error and its gradient, computed on every thread.
+     */
+    private double[] errorAndGradient(double[] weights, boolean gradient) throws InterruptedException {
+        int count = positions.size();
+        List<Callable<double[]>> tasks = new ArrayList<>(slices);
+        for (int s = 0; s < slices; s++) {
+            int from = (int) ((long) count * s / slices);
+            int to = (int) ((long) count * (s + 1) / slices);
+            tasks.add(() -> slice(weights, from, to, gradient));
+        }
+        double[] total = new double[FEATURES + 1];
+        for (Future<double[]> future : pool.invokeAll(tasks)) {
+            double[] sums;
+            try {
+                sums = future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Tuning slice failed", e.getCause());
+            }
+            for (int i = 0; i < total.length; i++) {
+                total[i] += sums[i];
+            }
+        }
+        for (int i = 0; i < total.length; i++) {
+            total[i] /= Math.max(1, count);
+        }
+        return total;
+    }
+
+    /**
+     * @return The mean squared error of the weights on the training set.
+     */
+    public double error(EvalWeights weights) throws InterruptedException {
+        return errorAndGradient(toDoubles(weights), false)[0];
+    }
+
+    /**
+     * Fits the logistic curve's steepness to the weights by golden-section search.
+     *
+     * @return The fitted steepness.
+     */
+    public double fitScale(EvalWeights weights) throws InterruptedException {
+        double[] values = toDoubles(weights);
+        double ratio = (Math.sqrt(5) - 1) / 2;
+        double low = 0.01;
+        double high = 10.0;
+        while (high - low > 1e-3) {
+            double left = high - ratio * (high - low);
+            double right = low + ratio * (high - low);
+            scale = left;
+            double leftError = errorAndGradient(values, false)[0];
+            scale = right;
+            double rightError = errorAndGradient(values, false)[0];
+            if (leftError < rightError) {
+                high = right;
+            } else {
+                low = left;
+            }
+        }
+        scale = (low + high) / 2;
+        return scale;
+    }
+
+    /**
+     * Runs gradient descent from {@code start}.
+     *
+     * @param epochs The number of passes over the training set.
+     * @param rate   The Adam step size, in evaluation units.
+     * @return The fitted weights, rounded to whole units.
+     */
+    public EvalWeights tune(EvalWeights start, int epochs, double rate) throws InterruptedException {
+        double[] weights = toDoubles(start);
+        double[] momentum = new double[FEATURES];
+        double[] velocity = new double[FEATURES];
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            double[] result = errorAndGradient(weights, true);
+            for (int i = 0; i < FEATURES; i++) {
+                double gradient = result[i + 1];
+                momentum[i] = BETA1 * momentum[i] + (1 - BETA1) * gradient;
+                velocity[i] = BETA2 * velocity[i] + (1 - BETA2) * gradient * gradient;
+                double corrected = momentum[i] / (1 - Math.pow(BETA1, epoch));
+                double spread = Math.sqrt(velocity[i] / (1 - Math.pow(BETA2, epoch)));
+                weights[i] -= rate * corrected / (spread + EPSILON);
+            }
+            if (epoch == 1 || epoch % 50 == 0 || epoch == epochs) {
+                System.out.printf("epoch %5d  error %.6f  %s%n", epoch, result[0], round(weights));
+            }
+        }
+        return round(weights);
+    }
+
+    private static double[] toDoubles(EvalWeights weights) {
+        int[] values = weights.toArray();
+        double[] doubles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+
+    private static EvalWeights round(double[] weights) {
+        int[] values = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            values[i] = (int) Math.round(weights[i]);
+        }
+        return EvalWeights.of(values);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: Tuner <out> [--start=weights.txt] [--epochs=500] [--rate=1.0] "
+                    + "[--skip-plies=8] [--threads=N] <file>...");
+            System.exit(2);
+        }
+        Path out = Path.of(args[0]);
+        EvalWeights start = EvalWeights.DEFAULT;
+        int epochs = 500;
+        double rate = 1.0;
+        int skipPlies = 8;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--start=")) {
+                start = EvalWeights.load(Path.of(value));
+            } else if (arg.startsWith("--epochs=")) {
+                epochs = Integer.parseInt(value);
+            } else if (arg.startsWith("--rate=")) {
+                rate = Double.parseDouble(value);
+            } else if (arg.startsWith("--skip-plies=")) {
+                skipPlies = Integer.parseInt(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else {
+                inputs.add(Path.of(arg));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        TrainingSet positions = new TrainingSet(skipPlies);
+        for (Path input : inputs) {
+            if (input.getFileName().toString().toLowerCase().endsWith(".pdn")) {
+                positions.addPdn(input);
+            } else {
+                positions.addMoveLog(input);
+            }
+        }
+        System.out.printf("%,d positions from %,d games in %.2f s%n", positions.size(), positions.gamesRead(),
+                (System.nanoTime() - startTime) / 1e9);
+
+        try (Tuner tuner = new Tuner(positions, threads)) {
+            System.out.printf("scale %.3f, starting error %.6f%n", tuner.fitScale(start), tuner.error(start));
+            long tuneStart = System.nanoTime();
+            EvalWeights tuned = tuner.tune(start, epochs, rate);
+            System.out.printf("%d epochs in %.2f s, final error %.6f%n", epochs,
+                    (System.nanoTime() - tuneStart) / 1e9, tuner.error(tuned));
+            tuned.save(out);
+            System.out.println("Wrote " + out + ": " + tuned);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+module com.checkers.core {
+    requires java.management;
+
+    exports com.checkers.book;
+    exports com.checkers.core;
+    exports com.checkers.engine;
+    exports com.checkers.gamelog;
+    exports com.checkers.metrics;
+    exports com.checkers.pdn;
+    exports com.checkers.server;
+    exports com.checkers.tablebase;
+    exports com.checkers.tournament;
+    exports com.checkers.tuning;
+}
@@ -0,0 +1,61 @@
+package com.checkers.pdn;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GameReplayerTest {
+
+    private static ReplayResult replay(String pdn) throws IOException {
+        try (PdnReader reader = new PdnReader(new StringReader(pdn))) {
+            return new GameReplayer().replay("test.pdn", reader.next());
+        }
+    }
+
+    @Test
+    void englishGameStartsWithBlack() throws IOException {
+        ReplayResult result = replay("""
+                [Event "Test"]
+                [GameType "21"]
+                [Result "*"]
+                1. 11-15 23-19 2. 8-11 22-17 3. 4-8 17-13 4. 15-18 24-20 5. 11-15 28-24 *
+                """);
+        assertNull(result.error());
+        assertEquals(10, result.plies());
+    }
+
+    @Test
+    void internationalGameIsReplayedOnTheLargeBoard() throws IOException {
+        ReplayResult result = replay("""
+                [GameType "20"]
+                1. 32-28 19-23 2. 28x19 14x23 *
+                """);
+        assertNull(result.error());
+        assertEquals(19, result.whiteCount());
+        assertEquals(19, result.blackCount());
+    }
+
+    @Test
+    void unsupportedGameTypeIsReportedAsSuch() throws IOException {
+        ReplayResult result = replay("""
+                [GameType "25"]
+                1. 22-18 11-15 *
+                """);
+        assertEquals("unsupported GameType 25", result.error());
+        assertEquals(0, result.plies());
+    }
+
+    @Test
+    void gameWithoutGameTypeUsesTheStandardRules() throws IOException {
+        ReplayResult result = replay("""
+                1. 22-18 11-15 2. 18x11 8x15 *
+                """);
+        assertNull(result.error());
+        assertEquals(11, result.whiteCount());
+        assertEquals(11, result.blackCount());
+    }
+}